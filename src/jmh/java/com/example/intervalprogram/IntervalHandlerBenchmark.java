@@ -0,0 +1,97 @@
+package com.example.intervalprogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the implementations of {@link IntervalHandler} scaling to large inputs over workloads of different
+ * shapes: number of intervals, their width, overlap density and ratio of excludes to includes.
+ * {@link IntervalHandlerBySet} and {@link IntervalHandlerByDirectSearch} cannot finish the largest workloads,
+ * they are compared on smaller ones by {@link IntervalHandlerPointwiseBenchmark}.
+ * Run with {@code java -jar target/benchmarks.jar IntervalHandlerBenchmark -prof gc} to get the allocation rate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalHandlerBenchmark {
+
+    @Param({"Sweep", "Bitmap", "ForkJoin", "Adaptive"})
+    private String handlerName;
+
+    @Param({"1000", "100000"})
+    private int count;
+
+    @Param({"10", "10000"})
+    private int width;
+
+    @Param({"0.5", "4"})
+    private double density;
+
+    @Param({"0.2", "1"})
+    private double excludeRatio;
+
+    private IntervalHandler handler;
+    private List<Interval> includes;
+    private List<Interval> excludes;
+    private List<Interval> result;
+    private String includesText;
+
+    @Setup
+    public void setUp() {
+        handler = createHandler(handlerName);
+        int excludeCount = (int) (count * excludeRatio);
+        includes = Workloads.generate(count, width, density, 1);
+        excludes = Workloads.generate(excludeCount, width, density * excludeRatio, 2);
+        result = handler.processIntervals(includes, excludes);
+        includesText = handler.formatOutput(includes);
+    }
+
+    @Benchmark
+    public List<Interval> processIntervals() {
+        return handler.processIntervals(includes, excludes);
+    }
+
+    @Benchmark
+    public List<Interval> parseIntervals() {
+        return handler.parseIntervals(includesText);
+    }
+
+    @Benchmark
+    public String formatOutput() {
+        return handler.formatOutput(result);
+    }
+
+    static IntervalHandler createHandler(String name) {
+        switch (name) {
+            case "DirectSearch":
+                return new IntervalHandlerByDirectSearch();
+            case "Set":
+                return new IntervalHandlerBySet();
+            case "Sweep":
+                return new IntervalHandlerBySweep();
+            case "Bitmap":
+                return new IntervalHandlerByBitmap();
+            case "ForkJoin":
+                return new IntervalHandlerByForkJoin();
+            case "Adaptive":
+                return new IntervalHandlerAdaptive();
+            default:
+                throw new IllegalArgumentException("Unknown handler: " + name);
+        }
+    }
+}
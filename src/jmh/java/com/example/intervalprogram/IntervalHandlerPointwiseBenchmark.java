@@ -0,0 +1,62 @@
+package com.example.intervalprogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link IntervalHandlerBySet}, which expands every integer, and {@link IntervalHandlerByDirectSearch},
+ * which interacts every include with every exclude, with {@link IntervalHandlerBySweep} as a baseline.
+ * Workloads are limited to at most a million integers and a million pairs, so every combination finishes.
+ * Run with {@code java -jar target/benchmarks.jar IntervalHandlerPointwiseBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalHandlerPointwiseBenchmark {
+
+    @Param({"DirectSearch", "Set", "Sweep"})
+    private String handlerName;
+
+    @Param({"100", "1000"})
+    private int count;
+
+    @Param({"10", "1000"})
+    private int width;
+
+    @Param({"0.5", "4"})
+    private double density;
+
+    @Param({"0.2", "1"})
+    private double excludeRatio;
+
+    private IntervalHandler handler;
+    private List<Interval> includes;
+    private List<Interval> excludes;
+
+    @Setup
+    public void setUp() {
+        handler = IntervalHandlerBenchmark.createHandler(handlerName);
+        includes = Workloads.generate(count, width, density, 1);
+        excludes = Workloads.generate((int) (count * excludeRatio), width, density * excludeRatio, 2);
+    }
+
+    @Benchmark
+    public List<Interval> processIntervals() {
+        return handler.processIntervals(includes, excludes);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.intervalprogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares point queries of {@link IntervalIndex} with a linear scan over the list returned by
+ * {@link IntervalHandler#processIntervals(List, List)}. Each operation looks up a batch of {@link #BATCH} numbers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalIndexBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"16", "1000", "100000"})
+    private int count;
+
+    private List<Interval> intervals;
+    private IntervalIndex index;
+    private int[] values;
+    private boolean[] results;
+
+    @Setup
+    public void setUp() {
+        intervals = new IntervalHandlerBySweep().processIntervals(Workloads.generate(count, 100, 0.5, 1),
+                                                                  Workloads.generate(count / 5, 100, 0.1, 2));
+        index = IntervalIndex.of(intervals);
+        int span = intervals.get(intervals.size() - 1).getEnd() + 1;
+        Random random = new Random(3);
+        values = new int[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            values[i] = random.nextInt(span);
+        }
+        results = new boolean[BATCH];
+    }
+
+    @Benchmark
+    public boolean[] linearScan() {
+        for (int i = 0; i < BATCH; i++) {
+            boolean contained = false;
+            for (Interval interval : intervals) {
+                if (interval.getStart() <= values[i] && values[i] <= interval.getEnd()) {
+                    contained = true;
+                    break;
+                }
+            }
+            results[i] = contained;
+        }
+        return results;
+    }
+
+    @Benchmark
+    public boolean[] index() {
+        index.contains(values, results);
+        return results;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.intervalprogram;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for {@link IntervalService}: keeps a fixed number of requests in flight
+ * and reports latency percentiles and throughput. Latency is measured from submitting to completing a request.
+ * Run after {@code mvn -P benchmark clean package}:
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.intervalprogram.IntervalServiceLoad [requests] [concurrency] [distinct]
+ * </pre>
+ * where distinct is the number of different requests, fewer distinct requests give more coalescing
+ */
+public class IntervalServiceLoad {
+
+    private IntervalServiceLoad() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int distinct = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        String[] includes = new String[distinct];
+        String[] excludes = new String[distinct];
+        IntervalHandler handler = new IntervalHandlerBySweep();
+        for (int i = 0; i < distinct; i++) {
+            includes[i] = handler.formatOutput(Workloads.generate(20, 100, 0.5, i));
+            excludes[i] = handler.formatOutput(Workloads.generate(5, 50, 0.5, -i - 1));
+        }
+
+        try (IntervalService service = new IntervalService(handler, concurrency)) {
+            System.out.println("virtual threads: " + service.isVirtualThreads());
+            // warm-up
+            run(service, includes, excludes, requests / 10, concurrency);
+            LatencyHistogram latency = new LatencyHistogram();
+            long started = System.nanoTime();
+            int failed = run(service, includes, excludes, requests, concurrency, latency);
+            long elapsed = System.nanoTime() - started;
+
+            System.out.printf("requests: %d, concurrency: %d, distinct: %d, failed: %d%n",
+                              requests, concurrency, distinct, failed);
+            System.out.printf("throughput: %.0f requests/s%n", requests * 1e9 / elapsed);
+            System.out.printf("latency us: p50 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                              latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                              latency.getValueAtPercentile(99.9) / 1e3, latency.getMax() / 1e3);
+            System.out.println("coalesced: " + service.getCoalescedCount() + ", rejected: "
+                                       + service.getRejectedCount());
+        }
+    }
+
+    private static void run(IntervalService service, String[] includes, String[] excludes, int requests,
+                            int concurrency) throws InterruptedException {
+        run(service, includes, excludes, requests, concurrency, new LatencyHistogram());
+    }
+
+    /**
+     * @return number of failed requests
+     */
+    private static int run(IntervalService service, String[] includes, String[] excludes, int requests,
+                           int concurrency, LatencyHistogram latency) throws InterruptedException {
+        Random random = new Random(requests);
+        // the client never has more requests in flight than the service accepts
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger failed = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            int request = random.nextInt(includes.length);
+            inFlight.acquire();
+            long submitted = System.nanoTime();
+            service.submit(includes[request], excludes[request]).whenComplete((result, error) -> {
+                latency.record(System.nanoTime() - submitted);
+                if (error != null) {
+                    failed.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await(10, TimeUnit.MINUTES);
+        return failed.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random intervals for benchmarks
+ */
+final class Workloads {
+
+    private Workloads() {
+    }
+
+    /**
+     * Generates intervals of random width placed randomly over a span chosen so that
+     * the sum of widths divided by the span gives the required overlap density
+     *
+     * @param count number of intervals
+     * @param width maximal width of an interval
+     * @param density sum of widths related to the span, values above 1 mean heavy overlap
+     * @param seed seed of the random generator
+     * @return list of intervals
+     */
+    static List<Interval> generate(int count, int width, double density, long seed) {
+        Random random = new Random(seed);
+        long span = Math.max(1, (long) (count * (width / 2.0 + 1) / density));
+        List<Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = (int) (random.nextDouble() * span);
+            intervals.add(new Interval(start, start + random.nextInt(width)));
+        }
+        return intervals;
+    }
+}
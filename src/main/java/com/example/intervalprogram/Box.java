@@ -0,0 +1,127 @@
+package com.example.intervalprogram;
+
+import java.util.Arrays;
+
+/**
+ * Immutable data holder representing a k-dimensional box, a product of intervals (sides),
+ * e.g. a range of IP addresses × a range of ports or a time window × a range of identifiers
+ *
+ */
+public class Box {
+
+    private final int[] starts;
+    private final int[] ends;
+
+    /**
+     * @param sides intervals of the box in each dimension, at least one
+     */
+    public Box(Interval... sides) {
+        if (sides.length == 0) {
+            throw new IllegalArgumentException("A box has at least one dimension");
+        }
+        this.starts = new int[sides.length];
+        this.ends = new int[sides.length];
+        for (int i = 0; i < sides.length; i++) {
+            starts[i] = sides[i].getStart();
+            ends[i] = sides[i].getEnd();
+        }
+    }
+
+    /**
+     * Constructor makes sure that each start gets a lower value than the corresponding end
+     *
+     * @param starts starting numbers of the box in each dimension
+     * @param ends ending numbers of the box in each dimension
+     */
+    public Box(int[] starts, int[] ends) {
+        if (starts.length != ends.length || starts.length == 0) {
+            throw new IllegalArgumentException("Starts and ends of a box must be given for the same dimensions: "
+                                                       + starts.length + " and " + ends.length);
+        }
+        this.starts = new int[starts.length];
+        this.ends = new int[ends.length];
+        for (int i = 0; i < starts.length; i++) {
+            this.starts[i] = Math.min(starts[i], ends[i]);
+            this.ends[i] = Math.max(starts[i], ends[i]);
+        }
+    }
+
+    /**
+     * Creates a box of a side in the first dimension and the sides of another box in the following dimensions
+     */
+    Box(int start, int end, Box rest) {
+        this.starts = new int[rest.starts.length + 1];
+        this.ends = new int[rest.ends.length + 1];
+        starts[0] = start;
+        ends[0] = end;
+        System.arraycopy(rest.starts, 0, starts, 1, rest.starts.length);
+        System.arraycopy(rest.ends, 0, ends, 1, rest.ends.length);
+    }
+
+
+    public int getDimensions() {
+        return starts.length;
+    }
+
+    public int getStart(int dimension) {
+        return starts[dimension];
+    }
+
+    public int getEnd(int dimension) {
+        return ends[dimension];
+    }
+
+    public Interval getSide(int dimension) {
+        return new Interval(starts[dimension], ends[dimension]);
+    }
+
+    /**
+     * @param point coordinates of a point in each dimension
+     * @return true if the box contains the point
+     */
+    public boolean contains(int... point) {
+        if (point.length != starts.length) {
+            throw new IllegalArgumentException("A point of " + point.length + " dimensions is given for a box of "
+                                                       + starts.length);
+        }
+        for (int i = 0; i < point.length; i++) {
+            if (point[i] < starts[i] || point[i] > ends[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Box)) return false;
+
+        Box box = (Box) o;
+
+        return Arrays.equals(starts, box.starts) && Arrays.equals(ends, box.ends);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(starts);
+        result = 31 * result + Arrays.hashCode(ends);
+        return result;
+    }
+
+    /**
+     * @return sides joined by " x ", e.g. "10-19 x 80-443"
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < starts.length; i++) {
+            if (i > 0) {
+                builder.append(" x ");
+            }
+            builder.append(starts[i]).append('-').append(ends[i]);
+        }
+        return builder.toString();
+    }
+}
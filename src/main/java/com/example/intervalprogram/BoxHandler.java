@@ -0,0 +1,181 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deducts excludes from includes for k-dimensional boxes, the same way {@code processIntervals} does for intervals.
+ * The first dimension is swept over slabs between neighbouring bounds of boxes. The boxes crossing a slab
+ * are processed by the same sweep over the remaining dimensions, and the last dimension is processed by
+ * {@link IntervalArray} as {@link IntervalHandlerBySweep} does. So for one dimension the results are the same
+ * as handlers give, adjacent intervals are kept apart.
+ * For more dimensions neighbouring slabs with equal results are always joined, and so are adjacent sides
+ * in the last dimension. So the result depends only on the covered points, not on how includes cut them.
+ * Resulting boxes are disjoint and ordered by their sides in the first dimension, then in the following ones.
+ * No pair of boxes is split against each other: for n boxes a dimension has at most 2n slabs,
+ * so d dimensions take O((2n)^(d-1) n log n) in the worst case and much less for sparse boxes
+ */
+public class BoxHandler {
+
+    /**
+     * Normalizes the given boxes and returns disjoint boxes covering the points of includes not covered by excludes
+     *
+     * @param includes list of includes, all of the same dimensions
+     * @param excludes list of excludes of the same dimensions as includes
+     *
+     * @return resulting list after deducting excludes from includes
+     * @throws IllegalArgumentException if boxes of different dimensions are given
+     */
+    public List<Box> processBoxes(List<Box> includes, List<Box> excludes) {
+        if (includes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int dimensions = includes.get(0).getDimensions();
+        requireDimensions(includes, dimensions);
+        requireDimensions(excludes, dimensions);
+        return complementBoxes(includes, excludes, 0, dimensions);
+    }
+
+    /**
+     * Performs complement of boxes projected onto the given and the following dimensions
+     *
+     * @param includes non empty list of includes
+     * @param excludes list of excludes
+     * @param dimension first dimension to process
+     * @param dimensions number of dimensions of boxes
+     * @return boxes of {@code dimensions - dimension} dimensions
+     */
+    private List<Box> complementBoxes(List<Box> includes, List<Box> excludes, int dimension, int dimensions) {
+        if (dimension == dimensions - 1) {
+            return complementSides(includes, excludes, dimension, dimensions > 1);
+        }
+        Box[] includesOrdered = sortByStart(includes, dimension);
+        Box[] excludesOrdered = sortByStart(excludes, dimension);
+        long[] bounds = bounds(includesOrdered, excludesOrdered, dimension);
+
+        List<Box> result = new ArrayList<>();
+        List<Box> crossingIncludes = new ArrayList<>();
+        List<Box> crossingExcludes = new ArrayList<>();
+        int nextInclude = 0;
+        int nextExclude = 0;
+        // slabs joined so far and their common section
+        List<Box> joined = Collections.emptyList();
+        long joinedStart = 0;
+        long joinedEnd = 0;
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            long slabStart = bounds[i];
+            long slabEnd = bounds[i + 1] - 1;
+            nextInclude = enter(includesOrdered, nextInclude, crossingIncludes, slabStart, dimension);
+            nextExclude = enter(excludesOrdered, nextExclude, crossingExcludes, slabStart, dimension);
+            crossingIncludes.removeIf(box -> box.getEnd(dimension) < slabStart);
+            crossingExcludes.removeIf(box -> box.getEnd(dimension) < slabStart);
+
+            List<Box> section = crossingIncludes.isEmpty() ? Collections.emptyList()
+                    : complementBoxes(crossingIncludes, crossingExcludes, dimension + 1, dimensions);
+            if (!section.isEmpty() && section.equals(joined)) {
+                joinedEnd = slabEnd;
+                continue;
+            }
+            addBoxes(result, joined, joinedStart, joinedEnd);
+            joined = section;
+            joinedStart = slabStart;
+            joinedEnd = slabEnd;
+        }
+        addBoxes(result, joined, joinedStart, joinedEnd);
+        return result;
+    }
+
+    /**
+     * Processes the last dimension on packed intervals
+     *
+     * @param joinAdjacent true to join adjacent resulting intervals
+     */
+    private static List<Box> complementSides(List<Box> includes, List<Box> excludes, int dimension,
+                                             boolean joinAdjacent) {
+        IntervalArray includesOrdered = sides(includes, dimension);
+        includesOrdered.normalize();
+        IntervalArray result = includesOrdered;
+        if (!excludes.isEmpty()) {
+            IntervalArray excludesOrdered = sides(excludes, dimension);
+            excludesOrdered.normalize();
+            result = includesOrdered.subtract(excludesOrdered);
+        }
+        List<Box> boxes = new ArrayList<>(result.size());
+        int i = 0;
+        while (i < result.size()) {
+            int start = result.getStart(i);
+            int end = result.getEnd(i);
+            for (i++; joinAdjacent && i < result.size() && result.getStart(i) == end + 1L; i++) {
+                end = result.getEnd(i);
+            }
+            boxes.add(new Box(new int[] {start}, new int[] {end}));
+        }
+        return boxes;
+    }
+
+    private static IntervalArray sides(List<Box> boxes, int dimension) {
+        IntervalArray sides = new IntervalArray(boxes.size());
+        for (Box box : boxes) {
+            sides.add(box.getStart(dimension), box.getEnd(dimension));
+        }
+        return sides;
+    }
+
+    private static Box[] sortByStart(List<Box> boxes, int dimension) {
+        Box[] sorted = boxes.toArray(new Box[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(box -> box.getStart(dimension)));
+        return sorted;
+    }
+
+    /**
+     * @return sorted distinct starts and numbers following ends of boxes, as longs not to overflow
+     */
+    private static long[] bounds(Box[] includes, Box[] excludes, int dimension) {
+        long[] bounds = new long[2 * (includes.length + excludes.length)];
+        int count = 0;
+        for (Box[] boxes : new Box[][] {includes, excludes}) {
+            for (Box box : boxes) {
+                bounds[count++] = box.getStart(dimension);
+                bounds[count++] = box.getEnd(dimension) + 1L;
+            }
+        }
+        Arrays.sort(bounds);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || bounds[i] != bounds[distinct - 1]) {
+                bounds[distinct++] = bounds[i];
+            }
+        }
+        return Arrays.copyOf(bounds, distinct);
+    }
+
+    /**
+     * Adds the boxes starting at a slab to the boxes crossing it
+     *
+     * @return index of the first box starting after the slab
+     */
+    private static int enter(Box[] sorted, int next, List<Box> crossing, long slabStart, int dimension) {
+        while (next < sorted.length && sorted[next].getStart(dimension) <= slabStart) {
+            crossing.add(sorted[next++]);
+        }
+        return next;
+    }
+
+    private static void addBoxes(List<Box> result, List<Box> section, long start, long end) {
+        for (Box box : section) {
+            result.add(new Box((int) start, (int) end, box));
+        }
+    }
+
+    private static void requireDimensions(List<Box> boxes, int dimensions) {
+        for (Box box : boxes) {
+            if (box.getDimensions() != dimensions) {
+                throw new IllegalArgumentException("A box of " + box.getDimensions() + " dimensions is given where "
+                                                           + dimensions + " are expected: " + box);
+            }
+        }
+    }
+}
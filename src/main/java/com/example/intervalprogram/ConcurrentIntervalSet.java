@@ -0,0 +1,294 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe set of disjoint intervals for many readers and few writers.
+ * Readers work on an immutable {@link Snapshot} taken by one volatile read, so they never lock or wait.
+ * Writers apply a batch of includes and excludes as {@code (set ∪ includes) \ excludes} with the same result
+ * as {@link IntervalHandlerBySweep} gives, and publish a new snapshot by compare-and-set.
+ * A snapshot keeps packed intervals in chunks of primitive arrays; an update copies only the chunks
+ * its intervals touch and shares all the others with the previous snapshot
+ */
+public class ConcurrentIntervalSet {
+
+    // maximal number of intervals in a chunk, intervals of a rebuilt run are spread evenly over chunks
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * @return current immutable state of the set
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public boolean contains(int value) {
+        return current.get().contains(value);
+    }
+
+    public int size() {
+        return current.get().size();
+    }
+
+    /**
+     * Adds includes and removes excludes in one atomic step
+     *
+     * @param includes list of non ordered includes
+     * @param excludes list of non ordered excludes
+     * @return the snapshot published by the update
+     */
+    public Snapshot update(List<Interval> includes, List<Interval> excludes) {
+        return update(IntervalArray.fromList(includes), IntervalArray.fromList(excludes));
+    }
+
+    /**
+     * Adds includes and removes excludes in one atomic step.
+     * If another writer publishes first, the update is applied again to the new snapshot
+     *
+     * @param includes container of non ordered includes, it is not modified
+     * @param excludes container of non ordered excludes, it is not modified
+     * @return the snapshot published by the update
+     */
+    public Snapshot update(IntervalArray includes, IntervalArray excludes) {
+        IntervalArray includesOrdered = includes.copy();
+        includesOrdered.normalize();
+        IntervalArray excludesOrdered = excludes.copy();
+        excludesOrdered.normalize();
+        while (true) {
+            Snapshot previous = current.get();
+            Snapshot next = previous.apply(includesOrdered, excludesOrdered);
+            if (current.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Removes all the intervals
+     *
+     * @return the published empty snapshot
+     */
+    public Snapshot clear() {
+        while (true) {
+            Snapshot previous = current.get();
+            Snapshot next = new Snapshot(new long[0][], new int[0], 0, previous.version + 1);
+            if (current.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return current.get().toString();
+    }
+
+
+    /**
+     * Immutable state of the set. The chunk owning a number is the last chunk starting at or before it
+     * (the first chunk owns all the numbers below its start)
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0][], new int[0], 0, 0);
+
+        private final long[][] chunks;
+        private final int[] firstStarts;
+        private final int size;
+        private final long version;
+
+        private Snapshot(long[][] chunks, int[] firstStarts, int size, long version) {
+            this.chunks = chunks;
+            this.firstStarts = firstStarts;
+            this.size = size;
+            this.version = version;
+        }
+
+        /**
+         * @return number of updates published before and including this snapshot
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public boolean contains(int value) {
+            if (chunks.length == 0) {
+                return false;
+            }
+            long[] chunk = chunks[chunkOf(value)];
+            int low = 0;
+            int high = chunk.length - 1;
+            // the last interval starting at or before the value
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (IntervalArray.start(chunk[middle]) <= value) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found >= 0 && IntervalArray.end(chunk[found]) >= value;
+        }
+
+        /**
+         * @return container of ordered disjoint intervals
+         */
+        public IntervalArray toIntervalArray() {
+            IntervalArray intervals = new IntervalArray(size);
+            for (long[] chunk : chunks) {
+                System.arraycopy(chunk, 0, intervals.data, intervals.size, chunk.length);
+                intervals.size += chunk.length;
+            }
+            return intervals;
+        }
+
+        /**
+         * @return list of ordered disjoint intervals
+         */
+        public List<Interval> toList() {
+            return toIntervalArray().toList();
+        }
+
+        int chunkCount() {
+            return chunks.length;
+        }
+
+        long[] chunk(int index) {
+            return chunks[index];
+        }
+
+        /**
+         * @return index of the chunk owning a number, the set must not be empty
+         */
+        private int chunkOf(int value) {
+            int low = 1;
+            int high = firstStarts.length - 1;
+            int found = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (firstStarts[middle] <= value) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Builds the next snapshot. An interval of the update can only merge with or cut the intervals
+         * of the chunks owning its numbers, so touched chunks are grouped into runs of neighbouring chunks,
+         * each run is rebuilt from its intervals and the intervals of the update falling into it,
+         * and all the other chunks are shared
+         */
+        Snapshot apply(IntervalArray includes, IntervalArray excludes) {
+            if (chunks.length == 0) {
+                IntervalArray result = excludes.isEmpty() ? includes : includes.subtract(excludes);
+                List<long[]> built = new ArrayList<>();
+                split(result, built);
+                return build(built, version + 1);
+            }
+            long[] runs = touchedRuns(includes, excludes);
+            List<long[]> next = new ArrayList<>(chunks.length + 1);
+            int copied = 0;
+            int nextInclude = 0;
+            int nextExclude = 0;
+            for (long run : runs) {
+                int first = (int) (run >>> 32);
+                int last = (int) run;
+                while (copied < first) {
+                    next.add(chunks[copied++]);
+                }
+                IntervalArray merged = new IntervalArray();
+                for (int c = first; c <= last; c++) {
+                    for (long packed : chunks[c]) {
+                        merged.add(IntervalArray.start(packed), IntervalArray.end(packed));
+                    }
+                }
+                nextInclude = appendOwned(includes, nextInclude, last, merged);
+                IntervalArray removed = new IntervalArray();
+                nextExclude = appendOwned(excludes, nextExclude, last, removed);
+                merged.normalize();
+                split(removed.isEmpty() ? merged : merged.subtract(removed), next);
+                copied = last + 1;
+            }
+            while (copied < chunks.length) {
+                next.add(chunks[copied++]);
+            }
+            return build(next, version + 1);
+        }
+
+        /**
+         * @return ordered disjoint runs of touched chunks, each packed as the first and the last chunk index
+         */
+        private long[] touchedRuns(IntervalArray includes, IntervalArray excludes) {
+            long[] ranges = new long[includes.size + excludes.size];
+            int count = 0;
+            for (IntervalArray intervals : new IntervalArray[] {includes, excludes}) {
+                for (int i = 0; i < intervals.size; i++) {
+                    ranges[count++] = IntervalArray.pack(chunkOf(IntervalArray.start(intervals.data[i])),
+                                                         chunkOf(IntervalArray.end(intervals.data[i])));
+                }
+            }
+            Arrays.sort(ranges);
+            return Arrays.copyOf(ranges, IntervalArray.mergeRange(ranges, 0, count));
+        }
+
+        /**
+         * Appends ordered intervals starting in chunks up to {@code last}
+         *
+         * @return index of the first interval not appended
+         */
+        private int appendOwned(IntervalArray intervals, int from, int last, IntervalArray target) {
+            while (from < intervals.size && chunkOf(IntervalArray.start(intervals.data[from])) <= last) {
+                target.add(IntervalArray.start(intervals.data[from]), IntervalArray.end(intervals.data[from]));
+                from++;
+            }
+            return from;
+        }
+
+        /**
+         * Cuts ordered intervals into chunks of equal sizes, so a chunk grown by a few intervals is not split
+         * until it exceeds the maximal size
+         */
+        private static void split(IntervalArray intervals, List<long[]> chunks) {
+            int count = (intervals.size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE;
+            for (int c = 0; c < count; c++) {
+                chunks.add(Arrays.copyOfRange(intervals.data, (int) ((long) intervals.size * c / count),
+                                              (int) ((long) intervals.size * (c + 1) / count)));
+            }
+        }
+
+        private static Snapshot build(List<long[]> chunks, long version) {
+            long[][] array = chunks.toArray(new long[0][]);
+            int[] firstStarts = new int[array.length];
+            int size = 0;
+            for (int c = 0; c < array.length; c++) {
+                firstStarts[c] = IntervalArray.start(array[c][0]);
+                size += array[c].length;
+            }
+            return new Snapshot(array, firstStarts, size, version);
+        }
+
+        @Override
+        public String toString() {
+            return "version " + version + ": " + toIntervalArray();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable container of intervals stored without an object per interval.
+ * Each interval is packed into one {@code long}: the start in the high 32 bits and the end in the low 32 bits,
+ * so sorting the packed values orders the intervals by their starts.
+ * Sorting, merging and complement are executed inside the container, the only allocations are the arrays
+ */
+public class IntervalArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long[] EMPTY = new long[0];
+
+    long[] data;
+    int size;
+
+    public IntervalArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial number of intervals the container can hold without growing
+     */
+    public IntervalArray(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + capacity);
+        }
+        data = capacity == 0 ? EMPTY : new long[capacity];
+    }
+
+    /**
+     * Creates a container filled with given intervals in the same order
+     *
+     * @param intervals list of intervals
+     * @return container holding the intervals
+     */
+    public static IntervalArray fromList(List<Interval> intervals) {
+        IntervalArray array = new IntervalArray(intervals.size());
+        for (Interval interval : intervals) {
+            array.data[array.size++] = pack(interval.getStart(), interval.getEnd());
+        }
+        return array;
+    }
+
+    /**
+     * Converts the container back into a list of intervals
+     *
+     * @return list of intervals in the same order
+     */
+    public List<Interval> toList() {
+        List<Interval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            intervals.add(new Interval(start(data[i]), end(data[i])));
+        }
+        return intervals;
+    }
+
+    /**
+     * Appends an interval, bounds are swapped the same way as {@link Interval} does
+     *
+     * @param start starting number of the interval
+     * @param end ending number of the interval
+     */
+    public void add(int start, int end) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        }
+        data[size++] = end < start ? pack(end, start) : pack(start, end);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getStart(int index) {
+        checkIndex(index);
+        return start(data[index]);
+    }
+
+    public int getEnd(int index) {
+        checkIndex(index);
+        return end(data[index]);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public IntervalArray copy() {
+        IntervalArray copy = new IntervalArray(0);
+        copy.data = Arrays.copyOf(data, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Sorts intervals by their starts
+     */
+    public void sort() {
+        Arrays.sort(data, 0, size);
+    }
+
+    /**
+     * Merges overlapped intervals in place. The intervals must be sorted
+     *
+     * @return number of intervals absorbed by merging
+     */
+    public int merge() {
+        int merged = size - mergeRange(data, 0, size);
+        size -= merged;
+        return merged;
+    }
+
+    /**
+     * Sorts and merges the intervals in place, the result is the same as {@code orderIntervals} of handlers gives
+     */
+    public void normalize() {
+        sort();
+        merge();
+    }
+
+    /**
+     * Performs complement (difference in Set theory) of the intervals with given excludes.
+     * Both containers must be normalized, they are walked once by two pointers
+     *
+     * @param excludes normalized excludes
+     * @return new normalized container with excluded excludes
+     */
+    public IntervalArray subtract(IntervalArray excludes) {
+        IntervalArray result = new IntervalArray(size + excludes.size);
+        subtractRange(data, 0, size, excludes.data, 0, excludes.size, result);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntervalArray)) return false;
+
+        IntervalArray other = (IntervalArray) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (data[i] != other.data[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The hash code is the same as {@link List#hashCode()} of {@link #toList()} gives
+     */
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + 31 * start(data[i]) + end(data[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(start(data[i])).append('-').append(end(data[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Merges overlapped sorted intervals of a range in place, the merged ones are written from {@code from}
+     *
+     * @return index following the last merged interval
+     */
+    static int mergeRange(long[] data, int from, int to) {
+        if (to - from < 2) {
+            return to;
+        }
+        int written = from;
+        int previousStart = start(data[from]);
+        int previousEnd = end(data[from]);
+        for (int i = from + 1; i < to; i++) {
+            int currentStart = start(data[i]);
+            int currentEnd = end(data[i]);
+            if (currentStart <= previousEnd) {
+                // overlapped
+                previousEnd = Math.max(previousEnd, currentEnd);
+            } else {
+                data[written++] = pack(previousStart, previousEnd);
+                previousStart = currentStart;
+                previousEnd = currentEnd;
+            }
+        }
+        data[written++] = pack(previousStart, previousEnd); // last interval
+        return written;
+    }
+
+    /**
+     * Appends to {@code result} the complement of normalized includes of a range with normalized excludes of a range.
+     * Both ranges are walked once by two pointers
+     */
+    static void subtractRange(long[] includes, int from, int to, long[] excludes, int exFrom, int exTo,
+                              IntervalArray result) {
+        int first = exFrom;
+        for (int i = from; i < to; i++) {
+            int inStart = start(includes[i]);
+            int inEnd = end(includes[i]);
+            // skip excludes lying entirely before the include
+            while (first < exTo && end(excludes[first]) < inStart) {
+                first++;
+            }
+            // long is used as the next uncovered number may be beyond Integer.MAX_VALUE
+            long uncovered = inStart;
+            for (int j = first; j < exTo; j++) {
+                int exStart = start(excludes[j]);
+                if (exStart > inEnd) {
+                    break;
+                }
+                if (exStart > uncovered) {
+                    result.add((int) uncovered, exStart - 1);
+                }
+                uncovered = Math.max(uncovered, (long) end(excludes[j]) + 1);
+                if (uncovered > inEnd) {
+                    break;
+                }
+            }
+            if (uncovered <= inEnd) {
+                result.add((int) uncovered, inEnd);
+            }
+        }
+    }
+
+    static long pack(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    static int start(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    static int end(long packed) {
+        return (int) packed;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
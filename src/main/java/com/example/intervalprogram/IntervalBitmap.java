@@ -0,0 +1,496 @@
+package com.example.intervalprogram;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compressed set of integers in the manner of Roaring bitmaps.
+ * The number line is cut into chunks of 2^16 numbers keyed by the high 16 bits (signed, so negative numbers
+ * go first). A chunk is stored either as a list of runs or as a plain bitmap of 1024 words,
+ * whichever is smaller. A completely filled chunk is one shared run, so memory grows with the number
+ * of runs rather than with the total width of the ranges.
+ * Excluding is done chunk by chunk as a word-level AND-NOT
+ */
+public class IntervalBitmap {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int LOW_MASK = (1 << CHUNK_BITS) - 1;
+
+    private int[] keys = new int[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Creates a bitmap containing all the integers of given intervals
+     *
+     * @param intervals list of intervals
+     * @return bitmap with integers incoming into intervals
+     */
+    public static IntervalBitmap of(List<Interval> intervals) {
+        IntervalArray ordered = IntervalArray.fromList(intervals);
+        ordered.normalize();
+        return ofNormalized(ordered);
+    }
+
+    /**
+     * @param ordered normalized intervals
+     * @return bitmap with integers incoming into intervals
+     */
+    static IntervalBitmap ofNormalized(IntervalArray ordered) {
+        IntervalBitmap bitmap = new IntervalBitmap();
+        // ranges are added in ascending order, so chunks and runs are always appended
+        for (int i = 0; i < ordered.size(); i++) {
+            bitmap.addRange(ordered.getStart(i), ordered.getEnd(i));
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds all the integers from {@code start} to {@code end} inclusively
+     *
+     * @param start starting number of the range
+     * @param end ending number of the range
+     */
+    public void addRange(int start, int end) {
+        if (end < start) {
+            int swap = start;
+            start = end;
+            end = swap;
+        }
+        int firstKey = start >> CHUNK_BITS;
+        int lastKey = end >> CHUNK_BITS;
+        for (int key = firstKey; ; key++) {
+            int low = key == firstKey ? start & LOW_MASK : 0;
+            int high = key == lastKey ? end & LOW_MASK : LOW_MASK;
+            int index = indexOf(key);
+            if (index < 0) {
+                index = insert(-index - 1, key, RunContainer.EMPTY);
+            }
+            containers[index] = containers[index].addRange(low, high);
+            if (key == lastKey) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Removes all the integers contained in given bitmap
+     *
+     * @param other bitmap of integers to remove
+     */
+    public void removeAll(IntervalBitmap other) {
+        int written = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            int key = keys[i];
+            while (j < other.size && other.keys[j] < key) {
+                j++;
+            }
+            Container container = containers[i];
+            if (j < other.size && other.keys[j] == key) {
+                container = container.andNot(other.containers[j]);
+            }
+            if (!container.isEmpty()) {
+                keys[written] = key;
+                containers[written++] = container;
+            }
+        }
+        Arrays.fill(containers, written, size, null);
+        size = written;
+    }
+
+    public boolean contains(int value) {
+        int index = indexOf(value >> CHUNK_BITS);
+        return index >= 0 && containers[index].contains(value & LOW_MASK);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of integers in the bitmap
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return estimated number of bytes taken by keys and containers, shared containers are not counted
+     */
+    public long sizeInBytes() {
+        long bytes = 4L * keys.length + 4L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Converts the bitmap into ordered intervals by scanning its runs.
+     * Runs adjacent across chunk boundaries are joined into one interval
+     *
+     * @return container of ordered intervals
+     */
+    public IntervalArray toIntervalArray() {
+        IntervalArray intervals = new IntervalArray();
+        for (int i = 0; i < size; i++) {
+            containers[i].appendRuns(keys[i] << CHUNK_BITS, intervals);
+        }
+        return intervals;
+    }
+
+    private int indexOf(int key) {
+        // the most frequent case is appending to the last chunk
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        if (size == 0 || keys[size - 1] < key) {
+            return -size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private int insert(int index, int key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+        return index;
+    }
+
+    /**
+     * Appends a run to the intervals joining it with the last interval if they are adjacent
+     */
+    private static void appendRun(IntervalArray intervals, int start, int end) {
+        int last = intervals.size - 1;
+        if (last >= 0 && (long) IntervalArray.end(intervals.data[last]) + 1 == start) {
+            intervals.data[last] = IntervalArray.pack(IntervalArray.start(intervals.data[last]), end);
+        } else {
+            intervals.add(start, end);
+        }
+    }
+
+
+    /**
+     * Set of numbers from 0 to 65535 representing low 16 bits of one chunk.
+     * Operations return the container to use further, it may be this one or a converted one
+     */
+    private abstract static class Container {
+
+        /**
+         * Maximal number of runs stored as runs, beyond that a bitmap of 8 KB is smaller
+         */
+        static final int MAX_RUNS = 2048;
+
+        abstract Container addRange(int low, int high);
+
+        abstract Container andNot(Container other);
+
+        abstract boolean contains(int low);
+
+        abstract boolean isEmpty();
+
+        abstract int cardinality();
+
+        abstract int sizeInBytes();
+
+        abstract void appendRuns(int base, IntervalArray intervals);
+    }
+
+    /**
+     * Container storing sorted non adjacent runs as pairs of chars (low and high bounds)
+     */
+    private static final class RunContainer extends Container {
+
+        static final RunContainer EMPTY = new RunContainer(new char[0], 0);
+        static final RunContainer FULL = new RunContainer(new char[] {0, LOW_MASK}, 1);
+
+        private char[] runs;
+        private int count;
+
+        RunContainer(char[] runs, int count) {
+            this.runs = runs;
+            this.count = count;
+        }
+
+        @Override
+        Container addRange(int low, int high) {
+            if (this == FULL) {
+                return this;
+            }
+            if (low == 0 && high == LOW_MASK) {
+                return FULL;
+            }
+            if (this == EMPTY) {
+                return new RunContainer(new char[] {(char) low, (char) high, 0, 0}, 1);
+            }
+            // first run which is not entirely before the range and not adjacent to it
+            int first = count;
+            while (first > 0 && runs[2 * (first - 1) + 1] + 1 >= low) {
+                first--;
+            }
+            // runs from first up to last overlap or touch the range and are replaced by one run
+            int last = first;
+            while (last < count && runs[2 * last] <= high + 1) {
+                last++;
+            }
+            if (first < last) {
+                low = Math.min(low, runs[2 * first]);
+                high = Math.max(high, runs[2 * (last - 1) + 1]);
+            }
+            int newCount = count - (last - first) + 1;
+            if (newCount > MAX_RUNS) {
+                return toBitmap().addRange(low, high);
+            }
+            if (2 * newCount > runs.length) {
+                runs = Arrays.copyOf(runs, Math.max(2 * newCount, runs.length * 2));
+            }
+            System.arraycopy(runs, 2 * last, runs, 2 * (first + 1), 2 * (count - last));
+            runs[2 * first] = (char) low;
+            runs[2 * first + 1] = (char) high;
+            count = newCount;
+            return count == 1 && low == 0 && high == LOW_MASK ? FULL : this;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            if (!(other instanceof RunContainer)) {
+                return toBitmap().andNot(other);
+            }
+            RunContainer excluded = (RunContainer) other;
+            char[] result = new char[2 * (count + excluded.count)];
+            int resultCount = 0;
+            int first = 0;
+            for (int i = 0; i < count; i++) {
+                int low = runs[2 * i];
+                int high = runs[2 * i + 1];
+                while (first < excluded.count && excluded.runs[2 * first + 1] < low) {
+                    first++;
+                }
+                int uncovered = low;
+                for (int j = first; j < excluded.count && excluded.runs[2 * j] <= high; j++) {
+                    if (excluded.runs[2 * j] > uncovered) {
+                        result[2 * resultCount] = (char) uncovered;
+                        result[2 * resultCount++ + 1] = (char) (excluded.runs[2 * j] - 1);
+                    }
+                    uncovered = Math.max(uncovered, excluded.runs[2 * j + 1] + 1);
+                }
+                if (uncovered <= high) {
+                    result[2 * resultCount] = (char) uncovered;
+                    result[2 * resultCount++ + 1] = (char) high;
+                }
+            }
+            return resultCount == 0 ? EMPTY : new RunContainer(result, resultCount);
+        }
+
+        @Override
+        boolean contains(int low) {
+            for (int i = 0; i < count && runs[2 * i] <= low; i++) {
+                if (low <= runs[2 * i + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        @Override
+        int sizeInBytes() {
+            return this == EMPTY || this == FULL ? 0 : 16 + 2 * runs.length;
+        }
+
+        @Override
+        int cardinality() {
+            int cardinality = 0;
+            for (int i = 0; i < count; i++) {
+                cardinality += runs[2 * i + 1] - runs[2 * i] + 1;
+            }
+            return cardinality;
+        }
+
+        @Override
+        void appendRuns(int base, IntervalArray intervals) {
+            for (int i = 0; i < count; i++) {
+                appendRun(intervals, base + runs[2 * i], base + runs[2 * i + 1]);
+            }
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < count; i++) {
+                bitmap.setRange(runs[2 * i], runs[2 * i + 1]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Container storing one bit per number in 1024 words
+     */
+    private static final class BitmapContainer extends Container {
+
+        private static final int WORDS = (LOW_MASK + 1) >>> 6;
+
+        private final long[] words = new long[WORDS];
+
+        @Override
+        Container addRange(int low, int high) {
+            setRange(low, high);
+            return this;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            if (other instanceof BitmapContainer) {
+                long[] excluded = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] &= ~excluded[i];
+                }
+            } else {
+                RunContainer excluded = (RunContainer) other;
+                for (int i = 0; i < excluded.count; i++) {
+                    clearRange(excluded.runs[2 * i], excluded.runs[2 * i + 1]);
+                }
+            }
+            return optimize();
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        boolean isEmpty() {
+            for (long word : words) {
+                if (word != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int sizeInBytes() {
+            return 16 + 8 * WORDS;
+        }
+
+        @Override
+        int cardinality() {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return cardinality;
+        }
+
+        @Override
+        void appendRuns(int base, IntervalArray intervals) {
+            int start = nextSetBit(0);
+            while (start >= 0) {
+                int end = nextClearBit(start) - 1;
+                appendRun(intervals, base + start, base + end);
+                start = nextSetBit(end + 2);
+            }
+        }
+
+        void setRange(int low, int high) {
+            int firstWord = low >>> 6;
+            int lastWord = high >>> 6;
+            long firstMask = -1L << low;
+            long lastMask = -1L >>> (63 - (high & 63));
+            if (firstWord == lastWord) {
+                words[firstWord] |= firstMask & lastMask;
+                return;
+            }
+            words[firstWord] |= firstMask;
+            Arrays.fill(words, firstWord + 1, lastWord, -1L);
+            words[lastWord] |= lastMask;
+        }
+
+        private void clearRange(int low, int high) {
+            int firstWord = low >>> 6;
+            int lastWord = high >>> 6;
+            long firstMask = -1L << low;
+            long lastMask = -1L >>> (63 - (high & 63));
+            if (firstWord == lastWord) {
+                words[firstWord] &= ~(firstMask & lastMask);
+                return;
+            }
+            words[firstWord] &= ~firstMask;
+            Arrays.fill(words, firstWord + 1, lastWord, 0L);
+            words[lastWord] &= ~lastMask;
+        }
+
+        private int nextSetBit(int from) {
+            if (from > LOW_MASK) {
+                return -1;
+            }
+            int index = from >>> 6;
+            long word = words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+            return (index << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        private int nextClearBit(int from) {
+            int index = from >>> 6;
+            long word = ~words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return LOW_MASK + 1;
+                }
+                word = ~words[index];
+            }
+            return (index << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        /**
+         * Converts the bitmap into runs if they take less memory
+         */
+        private Container optimize() {
+            int runCount = 0;
+            long previousTop = 0;
+            for (long word : words) {
+                // a run starts at a set bit whose lower neighbour is clear
+                runCount += Long.bitCount(word & ~((word << 1) | previousTop));
+                previousTop = word >>> 63;
+            }
+            if (runCount > MAX_RUNS) {
+                return this;
+            }
+            if (runCount == 0) {
+                return RunContainer.EMPTY;
+            }
+            char[] runs = new char[2 * runCount];
+            int count = 0;
+            int start = nextSetBit(0);
+            while (start >= 0) {
+                int end = nextClearBit(start) - 1;
+                runs[2 * count] = (char) start;
+                runs[2 * count++ + 1] = (char) end;
+                start = nextSetBit(end + 2);
+            }
+            return count == 1 && runs[0] == 0 && runs[1] == LOW_MASK
+                    ? RunContainer.FULL : new RunContainer(runs, count);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.example.intervalprogram;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary format of lists of intervals.
+ * Intervals are written in blocks; each block starts with the number of its intervals followed by
+ * the first start as a zig-zag varint, then every interval is a zig-zag varint of the gap from the previous end
+ * (the first interval of a block has no gap) and an unsigned varint of its length {@code end - start}.
+ * So a normalized list of short intervals close to each other takes 2-3 bytes per interval.
+ * The optional block index after the last block keeps the first start and the offset of every block,
+ * so a reader of a normalized list can jump to the block holding a number. A CRC32 of all the preceding
+ * bytes closes the data. Any list is encoded, seeking is meaningful for normalized lists only.
+ * <pre>
+ * header:  magic (4 bytes) version (1) flags (1) block size (4)
+ * block:   count (varint) start (zig-zag) length (varint) [gap (zig-zag) length (varint)]...
+ * end:     0 (varint)
+ * index:   block count (varint) [first start delta (zig-zag) offset delta (varint)]...   if flags has INDEXED
+ * trailer: index offset from the header (8 bytes, -1 without index) CRC32 (4 bytes)
+ * </pre>
+ * Fixed size fields are big-endian
+ */
+public class IntervalCodec {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+
+    // "IVLC"
+    private static final int MAGIC = 0x49564C43;
+    private static final int VERSION = 1;
+    private static final int INDEXED = 1;
+    // magic, version, flags, block size
+    private static final int HEADER_BYTES = 10;
+    // index offset, checksum
+    private static final int TRAILER_BYTES = 12;
+    private static final int BUFFER_BYTES = 1 << 13;
+
+    private IntervalCodec() {
+    }
+
+    /**
+     * Encodes intervals with the default block size and the block index
+     *
+     * @param intervals list of intervals
+     * @param out stream to write to, it is not closed
+     * @throws IOException if writing fails
+     */
+    public static void encode(List<Interval> intervals, OutputStream out) throws IOException {
+        encode(IntervalArray.fromList(intervals), out, DEFAULT_BLOCK_SIZE, true);
+    }
+
+    /**
+     * Encodes intervals with the default block size and the block index
+     *
+     * @param intervals container of intervals
+     * @param target buffer receiving the data from its position
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public static void encode(IntervalArray intervals, ByteBuffer target) {
+        try {
+            encode(intervals, new ByteBufferOutput(target), DEFAULT_BLOCK_SIZE, true);
+        } catch (IOException e) {
+            // writing to a buffer does not throw IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Encodes intervals block by block
+     *
+     * @param intervals container of intervals
+     * @param out stream to write to, it is not closed
+     * @param blockSize number of intervals in a block
+     * @param indexed true to write the block index
+     * @throws IOException if writing fails
+     */
+    public static void encode(IntervalArray intervals, OutputStream out, int blockSize, boolean indexed)
+            throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        Sink sink = new Sink(out);
+        sink.putInt(MAGIC);
+        sink.putByte(VERSION);
+        sink.putByte(indexed ? INDEXED : 0);
+        sink.putInt(blockSize);
+
+        int blocks = (int) (((long) intervals.size + blockSize - 1) / blockSize);
+        long[] offsets = new long[indexed ? blocks : 0];
+        int[] firstStarts = new int[indexed ? blocks : 0];
+        for (int block = 0; block < blocks; block++) {
+            int from = block * blockSize;
+            int to = (int) Math.min(intervals.size, (long) from + blockSize);
+            if (indexed) {
+                offsets[block] = sink.position();
+                firstStarts[block] = IntervalArray.start(intervals.data[from]);
+            }
+            sink.putVarint(to - from);
+            long previousEnd = 0;
+            for (int i = from; i < to; i++) {
+                int start = IntervalArray.start(intervals.data[i]);
+                int end = IntervalArray.end(intervals.data[i]);
+                sink.putVarint(zigZag(i == from ? start : start - previousEnd));
+                sink.putVarint((long) end - start);
+                previousEnd = end;
+            }
+        }
+        sink.putVarint(0);
+
+        long indexOffset = -1;
+        if (indexed) {
+            indexOffset = sink.position();
+            sink.putVarint(blocks);
+            long previousStart = 0;
+            long previousOffset = 0;
+            for (int block = 0; block < blocks; block++) {
+                sink.putVarint(zigZag(firstStarts[block] - previousStart));
+                sink.putVarint(offsets[block] - previousOffset);
+                previousStart = firstStarts[block];
+                previousOffset = offsets[block];
+            }
+        }
+        sink.putLong(indexOffset);
+        sink.finish();
+    }
+
+    /**
+     * Decodes all the intervals verifying the checksum
+     *
+     * @param in stream positioned at the header, it is not closed and may be read beyond the encoded data
+     * @return container of intervals in the encoded order
+     * @throws IOException if reading fails or the data is corrupted
+     */
+    public static IntervalArray decode(InputStream in) throws IOException {
+        return decode(new Source(in));
+    }
+
+    /**
+     * Decodes all the intervals verifying the checksum, the position of the buffer is moved past the data
+     *
+     * @param buffer buffer holding the data from its position
+     * @return container of intervals in the encoded order
+     * @throws IOException if the data is corrupted
+     */
+    public static IntervalArray decode(ByteBuffer buffer) throws IOException {
+        Source source = new Source(new ByteBufferInput(buffer.duplicate()));
+        IntervalArray intervals = decode(source);
+        buffer.position(buffer.position() + (int) source.consumed());
+        return intervals;
+    }
+
+    private static IntervalArray decode(Source source) throws IOException {
+        int flags = readHeader(source);
+        IntervalArray intervals = new IntervalArray();
+        readBlocks(source, intervals, Integer.MIN_VALUE);
+        if ((flags & INDEXED) != 0) {
+            // only read to be checked
+            readIndex(source);
+        }
+        source.readLong();
+        long expected = source.checksum();
+        if (source.readInt() != (int) expected) {
+            throw new StreamCorruptedException("Checksum mismatch");
+        }
+        return intervals;
+    }
+
+    /**
+     * Decodes the intervals ending at or after a number skipping the blocks before it by the block index.
+     * The encoded list must be normalized. The checksum is not verified, as the data is not read completely
+     *
+     * @param buffer buffer holding exactly one encoded list from its position to its limit, it is not modified
+     * @param value the number to start from
+     * @return container of the intervals ending at or after the number
+     * @throws IOException if the data is corrupted
+     */
+    public static IntervalArray decodeFrom(ByteBuffer buffer, int value) throws IOException {
+        ByteBuffer data = buffer.duplicate();
+        int base = data.position();
+        int flags = readHeader(new Source(new ByteBufferInput(data.duplicate())));
+        long blockOffset = HEADER_BYTES;
+        if ((flags & INDEXED) != 0) {
+            long indexOffset = data.getLong(data.limit() - TRAILER_BYTES);
+            if (indexOffset < HEADER_BYTES || indexOffset > data.limit() - base - TRAILER_BYTES) {
+                throw new StreamCorruptedException("Wrong index offset: " + indexOffset);
+            }
+            long[] index = readIndex(new Source(new ByteBufferInput(at(data, base + indexOffset))));
+            // the last block starting at or before the number holds the interval containing it, if any
+            for (int block = 0; block < index.length / 2 && index[2 * block] <= value; block++) {
+                blockOffset = index[2 * block + 1];
+            }
+        }
+        IntervalArray intervals = new IntervalArray();
+        readBlocks(new Source(new ByteBufferInput(at(data, base + blockOffset))), intervals, value);
+        return intervals;
+    }
+
+    private static int readHeader(Source source) throws IOException {
+        if (source.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Not encoded intervals");
+        }
+        int version = source.readByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported version: " + version);
+        }
+        int flags = source.readByte();
+        if (source.readInt() < 1) {
+            throw new StreamCorruptedException("Wrong block size");
+        }
+        return flags;
+    }
+
+    /**
+     * Reads blocks up to the end mark appending the intervals ending at or after a number
+     */
+    private static void readBlocks(Source source, IntervalArray intervals, int from) throws IOException {
+        long count;
+        while ((count = source.readVarint()) != 0) {
+            long previousEnd = 0;
+            for (long i = 0; i < count; i++) {
+                long start = i == 0 ? unZigZag(source.readVarint()) : previousEnd + unZigZag(source.readVarint());
+                long end = start + source.readVarint();
+                if (start != (int) start || end != (int) end) {
+                    throw new StreamCorruptedException("Interval out of int range: " + start + "-" + end);
+                }
+                if (end >= from) {
+                    intervals.add((int) start, (int) end);
+                }
+                previousEnd = end;
+            }
+        }
+    }
+
+    /**
+     * @return first starts and offsets of blocks one after another
+     */
+    private static long[] readIndex(Source source) throws IOException {
+        long blocks = source.readVarint();
+        if (blocks > Integer.MAX_VALUE / 2) {
+            throw new StreamCorruptedException("Wrong block count: " + blocks);
+        }
+        long[] index = new long[2 * (int) blocks];
+        long start = 0;
+        long offset = 0;
+        for (int block = 0; block < blocks; block++) {
+            start += unZigZag(source.readVarint());
+            offset += source.readVarint();
+            index[2 * block] = start;
+            index[2 * block + 1] = offset;
+        }
+        return index;
+    }
+
+    private static ByteBuffer at(ByteBuffer data, long position) {
+        ByteBuffer duplicate = data.duplicate();
+        duplicate.position((int) position);
+        return duplicate;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    /**
+     * Buffered writer of varints and big-endian numbers counting written bytes and their checksum
+     */
+    private static final class Sink {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_BYTES];
+        private final CRC32 crc = new CRC32();
+        private int count;
+        private long flushed;
+
+        Sink(OutputStream out) {
+            this.out = out;
+        }
+
+        long position() {
+            return flushed + count;
+        }
+
+        void putByte(int value) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        void putVarint(long value) throws IOException {
+            if (buffer.length - count < 10) {
+                flush();
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        void putInt(int value) throws IOException {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                putByte(value >>> shift);
+            }
+        }
+
+        void putLong(long value) throws IOException {
+            putInt((int) (value >>> 32));
+            putInt((int) value);
+        }
+
+        /**
+         * Writes the checksum of all the written bytes and flushes the stream
+         */
+        void finish() throws IOException {
+            flush();
+            putInt((int) crc.getValue());
+            out.write(buffer, 0, count);
+            count = 0;
+            out.flush();
+        }
+
+        private void flush() throws IOException {
+            crc.update(buffer, 0, count);
+            out.write(buffer, 0, count);
+            flushed += count;
+            count = 0;
+        }
+    }
+
+    /**
+     * Buffered reader of varints and big-endian numbers computing the checksum of read bytes
+     */
+    private static final class Source {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_BYTES];
+        private final CRC32 crc = new CRC32();
+        private int position;
+        private int limit;
+        // bytes before this position are added to the checksum
+        private int checked;
+        private long filled;
+
+        Source(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * @return number of bytes read so far, not counting the bytes read ahead into the buffer
+         */
+        long consumed() {
+            return filled - (limit - position);
+        }
+
+        int readByte() throws IOException {
+            if (position == limit) {
+                fill();
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Varint is too long");
+        }
+
+        int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        long readLong() throws IOException {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        /**
+         * @return checksum of all the bytes read so far
+         */
+        long checksum() {
+            crc.update(buffer, checked, position - checked);
+            checked = position;
+            return crc.getValue();
+        }
+
+        private void fill() throws IOException {
+            crc.update(buffer, checked, limit - checked);
+            int read = in.read(buffer);
+            if (read <= 0) {
+                throw new EOFException("Unexpected end of encoded intervals");
+            }
+            position = 0;
+            limit = read;
+            checked = 0;
+            filled += read;
+        }
+    }
+
+    private static final class ByteBufferOutput extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferOutput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
+
+    private static final class ByteBufferInput extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+    }
+}
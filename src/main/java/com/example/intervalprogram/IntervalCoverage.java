@@ -0,0 +1,270 @@
+package com.example.intervalprogram;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coverage depth of includes with removed excludes: disjoint ordered segments annotated with the number
+ * of includes covering each of their numbers, e.g. includes "10-19, 15-29" give "10-14:1, 15-19:2, 20-29:1".
+ * A segment ends wherever the depth changes, the numbers covered by any exclude are not covered at all.
+ * <p>
+ * Starts and ends of intervals are sorted separately in primitive arrays and swept once as +1 and -1 events,
+ * so building takes O(n log n) time and 8 bytes per interval, no interval is expanded to its numbers
+ * as {@link IntervalHandlerBySet} does. Threshold queries are answered from the segments.
+ * Numbers are counted one by one, so neighbouring segments of the same depth are joined,
+ * as {@link IntervalHandlerBySet} joins adjacent intervals
+ */
+public class IntervalCoverage {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] starts;
+    private int[] ends;
+    private int[] depths;
+    private int size;
+    private int maxDepth;
+
+    private IntervalCoverage(int capacity) {
+        starts = new int[capacity];
+        ends = new int[capacity];
+        depths = new int[capacity];
+    }
+
+    /**
+     * @param includes list of non ordered includes
+     * @param excludes list of non ordered excludes
+     * @return coverage of includes with removed excludes
+     */
+    public static IntervalCoverage of(List<Interval> includes, List<Interval> excludes) {
+        int[] inStarts = new int[includes.size()];
+        int[] inEnds = new int[includes.size()];
+        for (int i = 0; i < inStarts.length; i++) {
+            inStarts[i] = includes.get(i).getStart();
+            inEnds[i] = includes.get(i).getEnd();
+        }
+        int[] exStarts = new int[excludes.size()];
+        int[] exEnds = new int[excludes.size()];
+        for (int i = 0; i < exStarts.length; i++) {
+            exStarts[i] = excludes.get(i).getStart();
+            exEnds[i] = excludes.get(i).getEnd();
+        }
+        return sweep(inStarts, inEnds, exStarts, exEnds);
+    }
+
+    /**
+     * The same as {@link #of(List, List)} for containers, the given containers are not modified
+     *
+     * @param includes container of non ordered includes
+     * @param excludes container of non ordered excludes
+     * @return coverage of includes with removed excludes
+     */
+    public static IntervalCoverage of(IntervalArray includes, IntervalArray excludes) {
+        int[] inStarts = new int[includes.size];
+        int[] inEnds = new int[includes.size];
+        for (int i = 0; i < includes.size; i++) {
+            inStarts[i] = IntervalArray.start(includes.data[i]);
+            inEnds[i] = IntervalArray.end(includes.data[i]);
+        }
+        int[] exStarts = new int[excludes.size];
+        int[] exEnds = new int[excludes.size];
+        for (int i = 0; i < excludes.size; i++) {
+            exStarts[i] = IntervalArray.start(excludes.data[i]);
+            exEnds[i] = IntervalArray.end(excludes.data[i]);
+        }
+        return sweep(inStarts, inEnds, exStarts, exEnds);
+    }
+
+    /**
+     * Sorts the given arrays in place and walks them by four pointers. A start is an event at its number,
+     * an end is an event at the number following it, which is computed as long not to overflow
+     */
+    private static IntervalCoverage sweep(int[] inStarts, int[] inEnds, int[] exStarts, int[] exEnds) {
+        Arrays.sort(inStarts);
+        Arrays.sort(inEnds);
+        Arrays.sort(exStarts);
+        Arrays.sort(exEnds);
+
+        IntervalCoverage coverage = new IntervalCoverage(INITIAL_CAPACITY);
+        int inStart = 0;
+        int inEnd = 0;
+        int exStart = 0;
+        int exEnd = 0;
+        int includeDepth = 0;
+        int excludeDepth = 0;
+        int depth = 0;
+        long segmentStart = 0;
+        // every include ends after it starts, so the sweep is over when all the includes are ended
+        while (inEnd < inEnds.length) {
+            long position = inEnds[inEnd] + 1L;
+            if (inStart < inStarts.length) {
+                position = Math.min(position, inStarts[inStart]);
+            }
+            if (exStart < exStarts.length) {
+                position = Math.min(position, exStarts[exStart]);
+            }
+            if (exEnd < exEnds.length) {
+                position = Math.min(position, exEnds[exEnd] + 1L);
+            }
+
+            for (; inStart < inStarts.length && inStarts[inStart] == position; inStart++) {
+                includeDepth++;
+            }
+            for (; inEnd < inEnds.length && inEnds[inEnd] + 1L == position; inEnd++) {
+                includeDepth--;
+            }
+            for (; exStart < exStarts.length && exStarts[exStart] == position; exStart++) {
+                excludeDepth++;
+            }
+            for (; exEnd < exEnds.length && exEnds[exEnd] + 1L == position; exEnd++) {
+                excludeDepth--;
+            }
+
+            int next = excludeDepth == 0 ? includeDepth : 0;
+            if (next != depth) {
+                if (depth > 0) {
+                    coverage.add((int) segmentStart, (int) (position - 1), depth);
+                }
+                segmentStart = position;
+                depth = next;
+            }
+        }
+        return coverage;
+    }
+
+    private void add(int start, int end, int depth) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        depths[size] = depth;
+        size++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    /**
+     * @return number of segments
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getStart(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int getEnd(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    /**
+     * @param index index of a segment
+     * @return number of includes covering each number of the segment
+     */
+    public int getDepth(int index) {
+        checkIndex(index);
+        return depths[index];
+    }
+
+    /**
+     * @return the highest depth of segments, 0 if there are no segments
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param value number to look up
+     * @return number of includes covering the number, 0 if it is not covered or excluded
+     */
+    public int depthAt(int value) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (ends[middle] < value) {
+                low = middle + 1;
+            } else if (starts[middle] > value) {
+                high = middle - 1;
+            } else {
+                return depths[middle];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Answers a threshold query
+     *
+     * @param threshold the lowest depth to report, positive
+     * @return new normalized container of numbers covered by at least the given number of includes,
+     * adjacent segments are joined
+     */
+    public IntervalArray atLeast(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        IntervalArray result = new IntervalArray();
+        int i = 0;
+        while (i < size) {
+            if (depths[i] < threshold) {
+                i++;
+                continue;
+            }
+            int start = starts[i];
+            int end = ends[i];
+            for (i++; i < size && depths[i] >= threshold && starts[i] == end + 1L; i++) {
+                end = ends[i];
+            }
+            result.add(start, end);
+        }
+        return result;
+    }
+
+    /**
+     * @param threshold the lowest depth to count, positive
+     * @return how many numbers are covered by at least the given number of includes
+     */
+    public long countAtLeast(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            if (depths[i] >= threshold) {
+                count += (long) ends[i] - starts[i] + 1;
+            }
+        }
+        return count;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * @return segments with their depths like "10-14:1, 15-19:2, 20-29:1"
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(starts[i]).append('-').append(ends[i]).append(':').append(depths[i]);
+        }
+        return builder.toString();
+    }
+}
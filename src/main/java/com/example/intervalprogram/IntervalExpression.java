@@ -0,0 +1,259 @@
+package com.example.intervalprogram;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Expression of set algebra over sets of intervals, e.g. {@code A.union(B).subtract(C.intersect(D))}.
+ * The whole expression is evaluated by one k-way merge sweep over boundaries of all the operands:
+ * each operand is normalized once the same way as {@code orderIntervals} does, then boundaries are visited
+ * in ascending order and the expression is tested between them.
+ * Intervals are treated as sets of integers, so adjacent intervals of the result are joined
+ */
+public class IntervalExpression {
+
+    private enum Operator {
+        OPERAND,
+        UNION,
+        INTERSECTION,
+        DIFFERENCE,
+        SYMMETRIC_DIFFERENCE
+    }
+
+    private final Operator operator;
+    private final IntervalExpression[] children;
+    private final IntervalArray operand;
+
+    private IntervalExpression(Operator operator, IntervalExpression[] children, IntervalArray operand) {
+        this.operator = operator;
+        this.children = children;
+        this.operand = operand;
+    }
+
+    /**
+     * @param intervals list of non ordered intervals
+     * @return expression consisting of one operand
+     */
+    public static IntervalExpression of(List<Interval> intervals) {
+        return of(IntervalArray.fromList(intervals));
+    }
+
+    /**
+     * @param intervals container of non ordered intervals, it is not modified
+     * @return expression consisting of one operand
+     */
+    public static IntervalExpression of(IntervalArray intervals) {
+        return new IntervalExpression(Operator.OPERAND, new IntervalExpression[0], intervals);
+    }
+
+    public IntervalExpression union(IntervalExpression... others) {
+        return combine(Operator.UNION, others);
+    }
+
+    public IntervalExpression intersect(IntervalExpression... others) {
+        return combine(Operator.INTERSECTION, others);
+    }
+
+    /**
+     * @param others expressions to remove
+     * @return expression of numbers contained in this expression and not contained in any of others
+     */
+    public IntervalExpression subtract(IntervalExpression... others) {
+        return combine(Operator.DIFFERENCE, others);
+    }
+
+    /**
+     * @param others expressions to combine with
+     * @return expression of numbers contained in an odd number of expressions
+     */
+    public IntervalExpression symmetricDifference(IntervalExpression... others) {
+        return combine(Operator.SYMMETRIC_DIFFERENCE, others);
+    }
+
+    /**
+     * Evaluates the expression in one sweep
+     *
+     * @return container of ordered disjoint non adjacent intervals
+     */
+    public IntervalArray evaluate() {
+        // the same operand may be used several times, it is swept once
+        Map<IntervalArray, Integer> indexes = new IdentityHashMap<>();
+        Node root = compile(indexes);
+        boolean[] inside = new boolean[indexes.size()];
+
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, indexes.size()));
+        for (Map.Entry<IntervalArray, Integer> entry : indexes.entrySet()) {
+            IntervalArray normalized = entry.getKey().copy();
+            normalized.normalize();
+            if (!normalized.isEmpty()) {
+                cursors.add(new Cursor(normalized, entry.getValue()));
+            }
+        }
+
+        // outside of all the operands every operator gives false
+        IntervalArray result = new IntervalArray();
+        boolean contained = false;
+        long runStart = 0;
+        while (!cursors.isEmpty()) {
+            long position = cursors.peek().position();
+            // apply all the boundaries at the same position before testing
+            while (!cursors.isEmpty() && cursors.peek().position() == position) {
+                Cursor cursor = cursors.poll();
+                inside[cursor.index] = cursor.isStart();
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            boolean now = root.test(inside);
+            if (now != contained) {
+                if (now) {
+                    runStart = position;
+                } else {
+                    result.add((int) runStart, (int) (position - 1));
+                }
+                contained = now;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return list of ordered disjoint non adjacent intervals
+     */
+    public List<Interval> toList() {
+        return evaluate().toList();
+    }
+
+    private IntervalExpression combine(Operator operator, IntervalExpression[] others) {
+        IntervalExpression[] operands = new IntervalExpression[others.length + 1];
+        operands[0] = this;
+        System.arraycopy(others, 0, operands, 1, others.length);
+        return new IntervalExpression(operator, operands, null);
+    }
+
+    /**
+     * Builds a tree for testing where operands are replaced by their indexes
+     */
+    private Node compile(Map<IntervalArray, Integer> indexes) {
+        if (operator == Operator.OPERAND) {
+            Integer index = indexes.get(operand);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(operand, index);
+            }
+            return new Node(operator, new Node[0], index);
+        }
+        Node[] nodes = new Node[children.length];
+        for (int i = 0; i < children.length; i++) {
+            nodes[i] = children[i].compile(indexes);
+        }
+        return new Node(operator, nodes, -1);
+    }
+
+    @Override
+    public String toString() {
+        if (operator == Operator.OPERAND) {
+            return operand.toString();
+        }
+        String[] parts = new String[children.length];
+        for (int i = 0; i < children.length; i++) {
+            parts[i] = children[i].toString();
+        }
+        return operator + Arrays.toString(parts);
+    }
+
+
+    private static final class Node {
+
+        private final Operator operator;
+        private final Node[] children;
+        private final int index;
+
+        Node(Operator operator, Node[] children, int index) {
+            this.operator = operator;
+            this.children = children;
+            this.index = index;
+        }
+
+        /**
+         * @param inside flags of operands containing the current number
+         * @return true if the expression contains the current number
+         */
+        boolean test(boolean[] inside) {
+            switch (operator) {
+                case OPERAND:
+                    return inside[index];
+                case UNION:
+                    for (Node child : children) {
+                        if (child.test(inside)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case INTERSECTION:
+                    for (Node child : children) {
+                        if (!child.test(inside)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case DIFFERENCE:
+                    if (!children[0].test(inside)) {
+                        return false;
+                    }
+                    for (int i = 1; i < children.length; i++) {
+                        if (children[i].test(inside)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                default:
+                    boolean odd = false;
+                    for (Node child : children) {
+                        odd ^= child.test(inside);
+                    }
+                    return odd;
+            }
+        }
+    }
+
+    /**
+     * Position in boundaries of one normalized operand: even boundaries are starts,
+     * odd boundaries are numbers following ends
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final IntervalArray intervals;
+        private final int index;
+        private int boundary;
+
+        Cursor(IntervalArray intervals, int index) {
+            this.intervals = intervals;
+            this.index = index;
+        }
+
+        long position() {
+            long packed = intervals.data[boundary >> 1];
+            return isStart() ? IntervalArray.start(packed) : (long) IntervalArray.end(packed) + 1;
+        }
+
+        boolean isStart() {
+            return (boundary & 1) == 0;
+        }
+
+        /**
+         * @return false if there are no more boundaries
+         */
+        boolean advance() {
+            return ++boundary < 2 * intervals.size;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(position(), other.position());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.intervalprogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes files of intervals without materializing their text as a String.
+ * Input files are memory-mapped region by region, output is written through a direct buffer.
+ * Two formats are supported: the text format of {@link IntervalHandler#parseIntervals(String)}
+ * and a compact binary format of big-endian int pairs (start, end)
+ */
+public class IntervalFiles {
+
+    /**
+     * Format of an interval file
+     */
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
+    private static final int MAPPED_REGION = 1 << 30;
+    private static final int OUTPUT_BUFFER = 1 << 16;
+
+    private IntervalFiles() {
+    }
+
+    /**
+     * Reads includes and excludes, processes them with a handler and writes the result.
+     * All the files have the same format
+     *
+     * @param handler handler processing intervals
+     * @param includes file of includes
+     * @param excludes file of excludes
+     * @param output file for the result, it is created or truncated
+     * @param format format of the files
+     * @throws IOException if reading or writing fails
+     */
+    public static void process(IntervalHandler handler, Path includes, Path excludes, Path output, Format format)
+            throws IOException {
+        IntervalArray result = handler.processIntervals(read(includes, format), read(excludes, format));
+        write(output, result, format);
+    }
+
+    public static IntervalArray read(Path path, Format format) throws IOException {
+        return format == Format.TEXT ? readText(path) : readBinary(path);
+    }
+
+    public static void write(Path path, IntervalArray intervals, Format format) throws IOException {
+        if (format == Format.TEXT) {
+            writeText(path, intervals);
+        } else {
+            writeBinary(path, intervals);
+        }
+    }
+
+    /**
+     * Reads a text file like "10-19, 31-100" mapping it region by region
+     *
+     * @param path text file in ASCII
+     * @return container of parsed intervals
+     * @throws IOException if reading fails
+     */
+    public static IntervalArray readText(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            IntervalParser parser = new IntervalParser(new IntervalArray());
+            long size = channel.size();
+            // the parser keeps its state, so a token may be split between regions
+            for (long position = 0; position < size; position += MAPPED_REGION) {
+                parser.feed(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                        Math.min(MAPPED_REGION, size - position)));
+            }
+            return parser.finish();
+        }
+    }
+
+    /**
+     * Reads a binary file of big-endian int pairs mapping it region by region
+     *
+     * @param path binary file
+     * @return container of intervals
+     * @throws IOException if reading fails or the file size is not a multiple of an int pair
+     */
+    public static IntervalArray readBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Long.BYTES != 0 || size / Long.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Malformed binary interval file " + path + " of " + size + " bytes");
+            }
+            IntervalArray intervals = new IntervalArray((int) (size / Long.BYTES));
+            // the region is a multiple of an int pair, so pairs are never split
+            for (long position = 0; position < size; position += MAPPED_REGION) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                                      Math.min(MAPPED_REGION, size - position));
+                while (buffer.hasRemaining()) {
+                    intervals.add(buffer.getInt(), buffer.getInt());
+                }
+            }
+            return intervals;
+        }
+    }
+
+    /**
+     * Writes intervals as text like "10-19, 31-100"
+     *
+     * @param path file to create or truncate
+     * @param intervals intervals to write
+     * @throws IOException if writing fails
+     */
+    public static void writeText(Path path, IntervalArray intervals) throws IOException {
+        try (FileChannel channel = openForWrite(path)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER);
+            IntervalFormatter formatter = new IntervalFormatter();
+            int next = 0;
+            do {
+                next = formatter.format(intervals, next, buffer);
+                flush(channel, buffer);
+            } while (next < intervals.size());
+        }
+    }
+
+    /**
+     * Writes intervals as big-endian int pairs
+     *
+     * @param path file to create or truncate
+     * @param intervals intervals to write
+     * @throws IOException if writing fails
+     */
+    public static void writeBinary(Path path, IntervalArray intervals) throws IOException {
+        try (FileChannel channel = openForWrite(path)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER);
+            for (int i = 0; i < intervals.size(); i++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(intervals.getStart(i)).putInt(intervals.getEnd(i));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static FileChannel openForWrite(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.intervalprogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.List;
+
+/**
+ * Writes intervals in the text format of {@link IntervalHandler#formatOutput(List)}, e.g. "10-19, 31-100",
+ * straight into a destination without creating a String per interval.
+ * Digits are put into a reusable scratch array, which is copied to the destination when it is full,
+ * so nothing is allocated per interval. An instance is not thread-safe
+ */
+public class IntervalFormatter {
+
+    /**
+     * The longest formatted interval "-2147483648--2147483648" with the separator ", "
+     */
+    public static final int MAX_INTERVAL_CHARS = 25;
+
+    private static final String SEPARATOR = ", ";
+    private static final int SCRATCH_CHARS = 1 << 12;
+
+    private final char[] chars = new char[SCRATCH_CHARS];
+    private final byte[] bytes = new byte[MAX_INTERVAL_CHARS];
+    private final CharBuffer charView = CharBuffer.wrap(chars);
+
+    /**
+     * @param intervals list of intervals
+     * @param target builder to append to
+     */
+    public void format(List<Interval> intervals, StringBuilder target) {
+        write(intervals, count -> target.append(chars, 0, count));
+    }
+
+    /**
+     * @param intervals container of intervals
+     * @param target builder to append to
+     */
+    public void format(IntervalArray intervals, StringBuilder target) {
+        write(intervals, count -> target.append(chars, 0, count));
+    }
+
+    /**
+     * @param intervals list of intervals
+     * @param target appendable to append to, a {@link Writer} receives whole arrays of chars
+     * @throws IOException if appending fails
+     */
+    public void format(List<Interval> intervals, Appendable target) throws IOException {
+        write(intervals, sink(target));
+    }
+
+    /**
+     * @param intervals container of intervals
+     * @param target appendable to append to, a {@link Writer} receives whole arrays of chars
+     * @throws IOException if appending fails
+     */
+    public void format(IntervalArray intervals, Appendable target) throws IOException {
+        write(intervals, sink(target));
+    }
+
+    /**
+     * Writes ASCII text of intervals into a buffer until it is full. Only whole intervals are written,
+     * so the text may be continued after the buffer is drained
+     *
+     * @param intervals container of intervals
+     * @param from index of the first interval to write, the separator is written before all but the first one
+     * @param target buffer to put to
+     * @return index of the first interval not written
+     */
+    public int format(IntervalArray intervals, int from, ByteBuffer target) {
+        int i = from;
+        for (; i < intervals.size; i++) {
+            int count = putInterval(bytes, i > 0, IntervalArray.start(intervals.data[i]),
+                                    IntervalArray.end(intervals.data[i]));
+            if (target.remaining() < count) {
+                break;
+            }
+            target.put(bytes, 0, count);
+        }
+        return i;
+    }
+
+    /**
+     * Fills the scratch array and passes it to the sink whenever the next interval may not fit.
+     * A sink not throwing checked exceptions makes the call not throwing them too
+     */
+    private <E extends Exception> void write(List<Interval> intervals, Sink<E> sink) throws E {
+        int count = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            if (count > SCRATCH_CHARS - MAX_INTERVAL_CHARS) {
+                sink.write(count);
+                count = 0;
+            }
+            count = putInterval(chars, count, i > 0, intervals.get(i).getStart(), intervals.get(i).getEnd());
+        }
+        sink.write(count);
+    }
+
+    private <E extends Exception> void write(IntervalArray intervals, Sink<E> sink) throws E {
+        int count = 0;
+        for (int i = 0; i < intervals.size; i++) {
+            if (count > SCRATCH_CHARS - MAX_INTERVAL_CHARS) {
+                sink.write(count);
+                count = 0;
+            }
+            count = putInterval(chars, count, i > 0, IntervalArray.start(intervals.data[i]),
+                                IntervalArray.end(intervals.data[i]));
+        }
+        sink.write(count);
+    }
+
+    private Sink<IOException> sink(Appendable target) {
+        if (target instanceof Writer) {
+            Writer writer = (Writer) target;
+            return count -> writer.write(chars, 0, count);
+        }
+        return count -> target.append(charView, 0, count);
+    }
+
+    /**
+     * Puts an interval with an optional leading separator into the scratch array
+     *
+     * @return index following the last put char
+     */
+    private static int putInterval(char[] chars, int position, boolean separated, int start, int end) {
+        if (separated) {
+            chars[position++] = SEPARATOR.charAt(0);
+            chars[position++] = SEPARATOR.charAt(1);
+        }
+        position = putInt(chars, position, start);
+        chars[position++] = '-';
+        return putInt(chars, position, end);
+    }
+
+    /**
+     * Puts an interval with an optional leading separator as ASCII bytes
+     *
+     * @return number of put bytes
+     */
+    private int putInterval(byte[] bytes, boolean separated, int start, int end) {
+        int count = putInterval(chars, 0, separated, start, end);
+        for (int i = 0; i < count; i++) {
+            bytes[i] = (byte) chars[i];
+        }
+        return count;
+    }
+
+    /**
+     * Puts decimal digits of a number, they are computed from the lowest one and placed from the right
+     *
+     * @return index following the last digit
+     */
+    private static int putInt(char[] chars, int position, int value) {
+        long number = value;
+        if (number < 0) {
+            chars[position++] = '-';
+            number = -number;
+        }
+        int digits = 1;
+        for (long bound = 10; bound <= number; bound *= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            chars[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return end;
+    }
+
+
+    /**
+     * Destination of the scratch array, it takes the chars filled so far
+     */
+    private interface Sink<E extends Exception> {
+
+        void write(int count) throws E;
+    }
+}
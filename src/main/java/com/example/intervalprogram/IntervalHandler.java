@@ -1,9 +1,9 @@
 package com.example.intervalprogram;
 
-import java.util.ArrayList;
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Provides interface to accept input intervals in different formats, processes the main logic, forms the output.
@@ -12,6 +12,11 @@ import java.util.stream.Collectors;
  */
 public abstract class IntervalHandler {
 
+    // start time of a phase which is not timed as there is no listener
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private volatile IntervalMetricsListener metricsListener;
+
     /**
      * Main method processing input intervals and handling their interaction.
      * Normalizes (excludes overlapping and sorts) the given lists
@@ -24,9 +29,24 @@ public abstract class IntervalHandler {
      */
     public abstract List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes);
 
+    /**
+     * The same as {@link #processIntervals(List, List)} but accepts and returns packed intervals.
+     * By default converts the containers into lists, subclasses working on packed intervals override it
+     * to avoid allocation of an object per interval. The given containers are not modified
+     *
+     * @param includes container of includes
+     * @param excludes container of excludes
+     *
+     * @return resulting container after deducting excludes from includes
+     */
+    public IntervalArray processIntervals(IntervalArray includes, IntervalArray excludes) {
+        return IntervalArray.fromList(processIntervals(includes.toList(), excludes.toList()));
+    }
+
 
     /**
-     * Converts a string like "10-19, 31-100" into list of intervals
+     * Converts a string like "10-19, 31-100" into list of intervals.
+     * Malformed items are skipped, see {@link IntervalParser}
      *
      * @param intervals intervals of integers in string view, may be empty
      * @return list of intervals or empty list
@@ -35,26 +55,65 @@ public abstract class IntervalHandler {
         if (intervals.isEmpty()) {
             return Collections.emptyList();
         }
-        List<Interval> result = new ArrayList<>();
-        String[] initArray = intervals.split(",\\s*");
-        for (String str : initArray) {
-            if (str.matches("^-?\\d+--?\\d+$")) {
-                String[] interval = str.split("(?<=[^-])-");
-                result.add(new Interval(Integer.parseInt(interval[0]), Integer.parseInt(interval[1])));
-            }
-        }
-        return result;
+        long start = startPhase();
+        List<Interval> parsed = IntervalParser.parse(intervals).toList();
+        endPhase(Phase.PARSE, start, intervals.length(), parsed.size(),
+                 parsed.size() * (IntervalMetricsListener.INTERVAL_BYTES + IntervalMetricsListener.PACKED_INTERVAL_BYTES));
+        return parsed;
     }
 
     /**
-     * Forms a handy string from the given list of intervals
+     * Forms a handy string from the given list of intervals.
+     * To write large results without the String use {@link IntervalFormatter}
      *
      * @param intervals list of intervals
      * @return a formatted string containing intervals
      */
     public String formatOutput(List<Interval> intervals) {
-        return intervals.stream()
-                .map(Interval::toString)
-                .collect(Collectors.joining(", "));
+        long start = startPhase();
+        StringBuilder builder = new StringBuilder(intervals.size() * 12);
+        new IntervalFormatter().format(intervals, builder);
+        String formatted = builder.toString();
+        endPhase(Phase.FORMAT, start, intervals.size(), formatted.length(), 2L * formatted.length());
+        return formatted;
+    }
+
+    /**
+     * @param listener listener of phases of processing, null to disable measuring
+     */
+    public void setMetricsListener(IntervalMetricsListener listener) {
+        this.metricsListener = listener;
+    }
+
+    /**
+     * @return listener of phases of processing or null if measuring is disabled
+     */
+    public IntervalMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Reads the clock only if there is a listener
+     *
+     * @return start time of a phase to pass to {@link #endPhase}
+     */
+    protected final long startPhase() {
+        return metricsListener == null ? NOT_TIMED : System.nanoTime();
+    }
+
+    /**
+     * Reports a finished phase to the listener if there is one and the phase was timed
+     *
+     * @param phase finished phase
+     * @param start value returned by {@link #startPhase()}
+     * @param inputCount number of items the phase received
+     * @param outputCount number of items the phase produced
+     * @param allocatedBytes estimated number of bytes allocated by the phase
+     */
+    protected final void endPhase(Phase phase, long start, int inputCount, int outputCount, long allocatedBytes) {
+        IntervalMetricsListener listener = metricsListener;
+        if (listener != null && start != NOT_TIMED) {
+            listener.onPhase(phase, System.nanoTime() - start, inputCount, outputCount, allocatedBytes);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.example.intervalprogram;
+
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+
+import java.util.List;
+
+/**
+ * The subclass implements the method {@code processIntervals} with the same point-set semantics
+ * as {@link IntervalHandlerBySet} but stores integers in a compressed {@link IntervalBitmap}
+ * instead of a Set of boxed integers. Excluding is executed as a word-level AND-NOT
+ * and intervals are rebuilt by scanning runs of the bitmap.
+ * The method is fast and memory grows with the number of runs, not with the width of intervals
+ */
+public class IntervalHandlerByBitmap extends IntervalHandler {
+
+    @Override
+    public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+        IntervalArray includesOrdered = IntervalArray.fromList(includes);
+        IntervalArray excludesOrdered = IntervalArray.fromList(excludes);
+        int count = includesOrdered.size() + excludesOrdered.size();
+
+        long start = startPhase();
+        includesOrdered.sort();
+        excludesOrdered.sort();
+        endPhase(Phase.SORT, start, count, count, count * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+
+        start = startPhase();
+        int merged = includesOrdered.merge() + excludesOrdered.merge();
+        endPhase(Phase.MERGE, start, count, count - merged, 0);
+
+        start = startPhase();
+        IntervalBitmap includesBitmap = IntervalBitmap.ofNormalized(includesOrdered);
+        IntervalBitmap excludesBitmap = IntervalBitmap.ofNormalized(excludesOrdered);
+        long allocated = includesBitmap.sizeInBytes() + excludesBitmap.sizeInBytes();
+        // interact includes and excludes
+        includesBitmap.removeAll(excludesBitmap);
+        IntervalArray result = includesBitmap.toIntervalArray();
+        endPhase(Phase.COMPLEMENT, start, count - merged, result.size(),
+                 allocated + result.size() * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+
+        return result.toList();
+    }
+}
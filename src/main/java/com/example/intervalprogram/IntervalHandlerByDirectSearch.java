@@ -1,5 +1,7 @@
 package com.example.intervalprogram;
 
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -21,7 +23,7 @@ public class IntervalHandlerByDirectSearch extends IntervalHandler {
     }
 
     /**
-     * Merges and orders given intervals
+     * Merges and orders given intervals reporting both phases to the metrics listener
      *
      * @param intervals list of non ordered intervals
      * @return list of merged (non overlapped) ordered intervals
@@ -30,12 +32,37 @@ public class IntervalHandlerByDirectSearch extends IntervalHandler {
         if (intervals.size() < 2) {
             return intervals;
         }
+        long start = startPhase();
+        List<Interval> intervalsSorted = sortIntervals(intervals);
+        endPhase(Phase.SORT, start, intervals.size(), intervalsSorted.size(),
+                 intervalsSorted.size() * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+
+        start = startPhase();
+        List<Interval> ordered = mergeIntervals(intervalsSorted);
+        endPhase(Phase.MERGE, start, intervalsSorted.size(), ordered.size(),
+                 ordered.size() * IntervalMetricsListener.INTERVAL_BYTES);
+        return ordered;
+    }
+
+    /**
+     * @param intervals list of non ordered intervals
+     * @return new list of the intervals sorted by their starts
+     */
+    private List<Interval> sortIntervals(List<Interval> intervals) {
         // be sure a next start is greater than previous one
-        List<Interval> intervalsSorted = intervals.stream()
+        return intervals.stream()
                 .sorted(Comparator.comparingInt(Interval::getStart))
                 .collect(Collectors.toList());
+    }
 
-        // merge intervals
+    /**
+     * @param intervalsSorted list of intervals sorted by their starts
+     * @return list of merged (non overlapped) ordered intervals
+     */
+    private List<Interval> mergeIntervals(List<Interval> intervalsSorted) {
+        if (intervalsSorted.size() < 2) {
+            return intervalsSorted;
+        }
         Interval previous = intervalsSorted.get(0);
         List<Interval> ordered = new ArrayList<>();
 
@@ -67,14 +94,19 @@ public class IntervalHandlerByDirectSearch extends IntervalHandler {
         if (excludes.isEmpty() || includes.isEmpty()) {
             return includes;
         }
+        long start = startPhase();
+        long allocated = 0;
         List<Interval> interacted = new ArrayList<>(includes);
         for (Interval exclude : excludes) {
             // interact the same list of includes with each exclude
             interacted = interacted.stream()
                     .flatMap(i -> interactIntervals(i, exclude).stream())
                     .collect(Collectors.toList());
+            allocated += interacted.size() * IntervalMetricsListener.INTERVAL_BYTES;
         }
-        return orderIntervals(interacted);
+        List<Interval> result = mergeIntervals(sortIntervals(interacted));
+        endPhase(Phase.COMPLEMENT, start, includes.size() + excludes.size(), result.size(), allocated);
+        return result;
     }
 
     /**
@@ -93,12 +125,13 @@ public class IntervalHandlerByDirectSearch extends IntervalHandler {
 
         if (inStart > exEnd || exStart > inEnd) { // no overlap
             result.add(include);
-        } else if (inStart > exStart && inEnd > exEnd) {
-            result.add(new Interval(exEnd + 1, inEnd));
-        } else if (exStart > inStart && exEnd > inEnd) {
-            result.add(new Interval(inStart, exStart - 1));
-        } else if (exStart > inStart && inEnd > exEnd) {
+            return result;
+        }
+        // parts of the include left of and right of the exclude, equal bounds leave no part
+        if (exStart > inStart) {
             result.add(new Interval(inStart, exStart - 1));
+        }
+        if (inEnd > exEnd) {
             result.add(new Interval(exEnd + 1, inEnd));
         }
         return result;
@@ -0,0 +1,283 @@
+package com.example.intervalprogram;
+
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The subclass implements the method {@code processIntervals} using all the cores of a {@link ForkJoinPool}.
+ * Intervals are sorted chunk by chunk and the sorted chunks are merged pairwise, all in the given pool,
+ * then merged chunk by chunk with stitching of chunk boundaries,
+ * then includes are partitioned into key ranges with balanced interval counts and each partition
+ * is complemented independently. The result is identical to the one of {@link IntervalHandlerBySweep}.
+ * Small inputs are processed sequentially.
+ * A handler created with its own pool shuts the pool down on {@link #close()}
+ */
+public class IntervalHandlerByForkJoin extends IntervalHandler implements AutoCloseable {
+
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+    // several partitions per thread smooth out uneven partitions
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final boolean ownPool;
+
+    /**
+     * Creates a handler running in the common pool
+     */
+    public IntervalHandlerByForkJoin() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a handler running in its own pool, the handler is to be closed to shut the pool down
+     *
+     * @param parallelism number of threads of the pool
+     */
+    public IntervalHandlerByForkJoin(int parallelism) {
+        this(new ForkJoinPool(parallelism), DEFAULT_THRESHOLD, true);
+    }
+
+    /**
+     * @param pool pool to run in, it is not shut down by {@link #close()}
+     */
+    public IntervalHandlerByForkJoin(ForkJoinPool pool) {
+        this(pool, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool pool to run in, it is not shut down by {@link #close()}
+     * @param threshold minimal number of intervals in a partition
+     */
+    IntervalHandlerByForkJoin(ForkJoinPool pool, int threshold) {
+        this(pool, threshold, false);
+    }
+
+    /**
+     * @param ownPool true if the pool is created by the handler and is shut down by {@link #close()}
+     */
+    private IntervalHandlerByForkJoin(ForkJoinPool pool, int threshold, boolean ownPool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+        this.ownPool = ownPool;
+    }
+
+    @Override
+    public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+        return processIntervals(IntervalArray.fromList(includes), IntervalArray.fromList(excludes)).toList();
+    }
+
+    @Override
+    public IntervalArray processIntervals(IntervalArray includes, IntervalArray excludes) {
+        IntervalArray includesOrdered = includes.copy();
+        IntervalArray excludesOrdered = excludes.copy();
+        if (includes.size() + excludes.size() < threshold) {
+            int count = includes.size() + excludes.size();
+            long start = startPhase();
+            includesOrdered.sort();
+            excludesOrdered.sort();
+            endPhase(Phase.SORT, start, count, count, count * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+
+            start = startPhase();
+            int merged = includesOrdered.merge() + excludesOrdered.merge();
+            endPhase(Phase.MERGE, start, count, count - merged, 0);
+
+            start = startPhase();
+            IntervalArray result = includesOrdered.subtract(excludesOrdered);
+            endPhase(Phase.COMPLEMENT, start, count - merged, result.size(),
+                     (count - merged) * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+            return result;
+        }
+        return pool.invoke(new RecursiveTask<IntervalArray>() {
+            @Override
+            protected IntervalArray compute() {
+                orderIntervals(includesOrdered);
+                orderIntervals(excludesOrdered);
+                return complementIntervals(includesOrdered, excludesOrdered);
+            }
+        });
+    }
+
+    /**
+     * Shuts down the pool created by the handler, a given pool is left to its owner
+     */
+    @Override
+    public void close() {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Sorts and merges intervals in place.
+     * Chunks are sorted independently and joined by pairwise merges in the pool of the handler.
+     * Then chunks are merged independently, after that the first intervals of each chunk are merged
+     * into the last interval of the previous chunks while they overlap
+     *
+     * @param intervals container of non ordered intervals, it is modified
+     */
+    private void orderIntervals(IntervalArray intervals) {
+        long[] data = intervals.data;
+        int chunks = partitions(intervals.size);
+        long start = startPhase();
+        sortTask(data, new long[intervals.size], 0, chunks, chunks, intervals.size).invoke();
+        endPhase(Phase.SORT, start, intervals.size, intervals.size,
+                 intervals.size * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+
+        start = startPhase();
+        int[] ends = new int[chunks];
+        List<RecursiveAction> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ends[chunk] = IntervalArray.mergeRange(data, from(chunk, chunks, intervals.size),
+                                                           from(chunk + 1, chunks, intervals.size));
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        // stitch chunk boundaries
+        int written = ends[0];
+        for (int c = 1; c < chunks; c++) {
+            int i = from(c, chunks, intervals.size);
+            int lastStart = IntervalArray.start(data[written - 1]);
+            int lastEnd = IntervalArray.end(data[written - 1]);
+            // a long interval may absorb the whole chunk
+            while (i < ends[c] && IntervalArray.start(data[i]) <= lastEnd) {
+                lastEnd = Math.max(lastEnd, IntervalArray.end(data[i]));
+                i++;
+            }
+            data[written - 1] = IntervalArray.pack(lastStart, lastEnd);
+            System.arraycopy(data, i, data, written, ends[c] - i);
+            written += ends[c] - i;
+        }
+        endPhase(Phase.MERGE, start, intervals.size, written, 0);
+        intervals.size = written;
+    }
+
+    /**
+     * Performs complement of ordered includes with ordered excludes.
+     * Includes are cut into partitions with equal interval counts, excludes of each partition are found
+     * by binary search, so partitions are complemented independently and their results are concatenated
+     *
+     * @param includes ordered includes
+     * @param excludes ordered excludes
+     * @return container of intervals representing difference between includes and excludes
+     */
+    private IntervalArray complementIntervals(IntervalArray includes, IntervalArray excludes) {
+        if (excludes.isEmpty() || includes.isEmpty()) {
+            return includes;
+        }
+        long start = startPhase();
+        int partitions = partitions(includes.size);
+        IntervalArray[] results = new IntervalArray[partitions];
+        List<RecursiveAction> tasks = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            int partition = p;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    int from = from(partition, partitions, includes.size);
+                    int to = from(partition + 1, partitions, includes.size);
+                    int exFrom = firstEndingAtOrAfter(excludes, IntervalArray.start(includes.data[from]));
+                    IntervalArray result = new IntervalArray(to - from);
+                    IntervalArray.subtractRange(includes.data, from, to, excludes.data, exFrom, excludes.size, result);
+                    results[partition] = result;
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int total = 0;
+        for (IntervalArray result : results) {
+            total += result.size;
+        }
+        IntervalArray complemented = new IntervalArray(total);
+        for (IntervalArray result : results) {
+            System.arraycopy(result.data, 0, complemented.data, complemented.size, result.size);
+            complemented.size += result.size;
+        }
+        endPhase(Phase.COMPLEMENT, start, includes.size + excludes.size, total,
+                 (includes.size + total) * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+        return complemented;
+    }
+
+    private int partitions(int size) {
+        int byThreshold = (size + threshold - 1) / threshold;
+        return Math.max(1, Math.min(pool.getParallelism() * PARTITIONS_PER_THREAD, byThreshold));
+    }
+
+    /**
+     * @return index of the first interval of a partition, partitions differ in size by one at most
+     */
+    private static int from(int partition, int partitions, int size) {
+        return (int) ((long) size * partition / partitions);
+    }
+
+    /**
+     * Ends of ordered intervals are ordered too, so the search is done by ends
+     *
+     * @return index of the first interval whose end is not less than a value
+     */
+    private static int firstEndingAtOrAfter(IntervalArray intervals, int value) {
+        int low = 0;
+        int high = intervals.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (IntervalArray.end(intervals.data[middle]) < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts the chunks of a range, then merges the two sorted halves of the range through a buffer.
+     * Chunks are cut the same way as for merging, so the sort runs in the pool of the handler
+     *
+     * @return task sorting chunks from {@code fromChunk} inclusive to {@code toChunk} exclusive
+     */
+    private static RecursiveAction sortTask(long[] data, long[] buffer, int fromChunk, int toChunk, int chunks,
+                                            int size) {
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                int from = from(fromChunk, chunks, size);
+                int to = from(toChunk, chunks, size);
+                if (toChunk - fromChunk == 1) {
+                    Arrays.sort(data, from, to);
+                    return;
+                }
+                int middleChunk = (fromChunk + toChunk) >>> 1;
+                invokeAll(sortTask(data, buffer, fromChunk, middleChunk, chunks, size),
+                          sortTask(data, buffer, middleChunk, toChunk, chunks, size));
+
+                // the halves use disjoint parts of the buffer
+                int middle = from(middleChunk, chunks, size);
+                System.arraycopy(data, from, buffer, from, middle - from);
+                int left = from;
+                int right = middle;
+                int written = from;
+                while (left < middle && right < to) {
+                    data[written++] = buffer[left] <= data[right] ? buffer[left++] : data[right++];
+                }
+                System.arraycopy(buffer, left, data, written, middle - left);
+            }
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.intervalprogram;
 
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -24,12 +26,24 @@ public class IntervalHandlerBySet extends IntervalHandler {
 
     @Override
     public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+        long start = startPhase();
         TreeSet<Integer> includesOrdered = fillInWithIntegers(includes);
         TreeSet<Integer> excludesOrdered = fillInWithIntegers(excludes);
+        int integers = includesOrdered.size() + excludesOrdered.size();
+        endPhase(Phase.SORT, start, includes.size() + excludes.size(), integers,
+                 integers * IntervalMetricsListener.BOXED_INTEGER_BYTES);
+
         // interact includes and excludes
+        start = startPhase();
         includesOrdered.removeAll(excludesOrdered);
+        endPhase(Phase.COMPLEMENT, start, integers, includesOrdered.size(), 0);
 
-        return buildIntervals(includesOrdered);
+        // adjacent integers are merged into intervals
+        start = startPhase();
+        List<Interval> intervals = buildIntervals(includesOrdered);
+        endPhase(Phase.MERGE, start, includesOrdered.size(), intervals.size(),
+                 includesOrdered.size() * 4L + intervals.size() * IntervalMetricsListener.INTERVAL_BYTES);
+        return intervals;
     }
 
     /**
@@ -87,6 +101,10 @@ public class IntervalHandlerBySet extends IntervalHandler {
     private int getTypeOfAdjacent(List<Integer> integers, int index) {
         int value = integers.get(index);
         int type = MONO;
+        // the only integer
+        if (integers.size() == 1) {
+            return type;
+        }
         // start of the list
         if (index == 0) {
             if (integers.get(index + 1) == value + 1) {
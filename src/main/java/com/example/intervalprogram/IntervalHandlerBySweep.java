@@ -0,0 +1,61 @@
+package com.example.intervalprogram;
+
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+
+import java.util.List;
+
+/**
+ * The subclass implements the method {@code processIntervals} using a single sweep over both lists.
+ * Includes and excludes are sorted and merged once, then they are walked together by two pointers,
+ * so the whole operation takes O((n+m) log(n+m)).
+ * All the stages run inside {@link IntervalArray}, so no object is created per interval
+ * except the conversion of the result into a list.
+ * The method is fast and efficiency does not drop in case of wide intervals
+ */
+public class IntervalHandlerBySweep extends IntervalHandler {
+
+    @Override
+    public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+        IntervalArray includesOrdered = IntervalArray.fromList(includes);
+        IntervalArray excludesOrdered = IntervalArray.fromList(excludes);
+
+        return complementIntervals(includesOrdered, excludesOrdered).toList();
+    }
+
+    @Override
+    public IntervalArray processIntervals(IntervalArray includes, IntervalArray excludes) {
+        return complementIntervals(includes.copy(), excludes.copy());
+    }
+
+    /**
+     * Orders both containers in place and performs complement of includes with excludes
+     *
+     * @param includes container of non ordered includes, it is modified
+     * @param excludes container of non ordered excludes, it is modified
+     * @return container of intervals representing difference between includes and excludes
+     */
+    private IntervalArray complementIntervals(IntervalArray includes, IntervalArray excludes) {
+        boolean complement = !excludes.isEmpty() && !includes.isEmpty();
+        int count = includes.size() + (complement ? excludes.size() : 0);
+
+        long start = startPhase();
+        includes.sort();
+        if (complement) {
+            excludes.sort();
+        }
+        endPhase(Phase.SORT, start, count, count, count * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+
+        start = startPhase();
+        int merged = includes.merge() + (complement ? excludes.merge() : 0);
+        endPhase(Phase.MERGE, start, count, count - merged, 0);
+        if (!complement) {
+            return includes;
+        }
+
+        start = startPhase();
+        IntervalArray result = includes.subtract(excludes);
+        endPhase(Phase.COMPLEMENT, start, count - merged, result.size(),
+                 (includes.size() + excludes.size()) * IntervalMetricsListener.PACKED_INTERVAL_BYTES);
+        return result;
+    }
+}
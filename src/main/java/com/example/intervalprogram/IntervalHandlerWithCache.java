@@ -0,0 +1,168 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator remembering results of another handler for recently used inputs.
+ * Inputs are normalized (merged and ordered) before lookup, so the same sets of intervals given
+ * in a different order hit the same entry. The cache is bounded by the total number of intervals
+ * in keys and results and evicts the least recently used entries.
+ * The handler is safe for concurrent use; two threads missing the same key at once both call the delegate.
+ * Returned lists are copies of the delegate results shared between callers and are unmodifiable.
+ * Phases of processing are reported by the delegate, which gets the metrics listener of the cache,
+ * so hits report nothing
+ */
+public class IntervalHandlerWithCache extends IntervalHandler {
+
+    private final IntervalHandler delegate;
+    private final long maxIntervals;
+    private final Map<Key, List<Interval>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedIntervals;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param delegate handler computing results
+     * @param maxIntervals maximal total number of intervals in keys and results kept by the cache
+     */
+    public IntervalHandlerWithCache(IntervalHandler delegate, long maxIntervals) {
+        if (maxIntervals < 0) {
+            throw new IllegalArgumentException("Negative cache size: " + maxIntervals);
+        }
+        this.delegate = delegate;
+        this.maxIntervals = maxIntervals;
+    }
+
+    @Override
+    public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+        Key key = new Key(normalize(includes), normalize(excludes));
+        List<Interval> result;
+        synchronized (cache) {
+            result = cache.get(key);
+        }
+        if (result != null) {
+            hits.incrementAndGet();
+            return result;
+        }
+        misses.incrementAndGet();
+        // the delegate may return a list of the caller, e.g. includes if there are no excludes
+        result = Collections.unmodifiableList(new ArrayList<>(delegate.processIntervals(includes, excludes)));
+
+        long weight = key.weight() + result.size();
+        if (weight <= maxIntervals) {
+            synchronized (cache) {
+                List<Interval> previous = cache.put(key, result);
+                cachedIntervals += weight - (previous == null ? 0 : key.weight() + previous.size());
+                evict();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The listener is passed to the delegate, so misses report the phases of processing
+     */
+    @Override
+    public void setMetricsListener(IntervalMetricsListener listener) {
+        super.setMetricsListener(listener);
+        delegate.setMetricsListener(listener);
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return total number of intervals in keys and results kept by the cache
+     */
+    public long getCachedIntervals() {
+        synchronized (cache) {
+            return cachedIntervals;
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            cachedIntervals = 0;
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the cache fits its size, must be called under the lock
+     */
+    private void evict() {
+        Iterator<Map.Entry<Key, List<Interval>>> eldest = cache.entrySet().iterator();
+        while (cachedIntervals > maxIntervals && eldest.hasNext()) {
+            Map.Entry<Key, List<Interval>> entry = eldest.next();
+            cachedIntervals -= entry.getKey().weight() + entry.getValue().size();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static IntervalArray normalize(List<Interval> intervals) {
+        IntervalArray normalized = IntervalArray.fromList(intervals);
+        normalized.normalize();
+        return normalized;
+    }
+
+
+    /**
+     * Normalized includes and excludes. Packed intervals take less memory than lists of intervals
+     * and have the same hash code as lists of {@link Interval} have
+     */
+    private static final class Key {
+
+        private final IntervalArray includes;
+        private final IntervalArray excludes;
+        private final int hash;
+
+        Key(IntervalArray includes, IntervalArray excludes) {
+            this.includes = includes;
+            this.excludes = excludes;
+            this.hash = 31 * includes.hashCode() + excludes.hashCode();
+        }
+
+        long weight() {
+            return includes.size() + excludes.size();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+
+            return hash == key.hash && includes.equals(key.includes) && excludes.equals(key.excludes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
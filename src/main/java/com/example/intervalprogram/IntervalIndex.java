@@ -0,0 +1,126 @@
+package com.example.intervalprogram;
+
+import java.util.List;
+
+/**
+ * Immutable index answering point queries over a result of {@link IntervalHandler#processIntervals(List, List)}.
+ * Starts and ends are kept in primitive arrays and searched by a branch-free binary search:
+ * the loop always runs log2(n) steps and selects the next half by a conditional move instead of a jump,
+ * so queries do not suffer from branch misprediction
+ */
+public class IntervalIndex {
+
+    private final int[] starts;
+    private final int[] ends;
+
+    private IntervalIndex(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Builds an index, intervals are merged and ordered if they are not yet
+     *
+     * @param intervals list of intervals
+     * @return index over intervals
+     */
+    public static IntervalIndex of(List<Interval> intervals) {
+        return of(IntervalArray.fromList(intervals));
+    }
+
+    /**
+     * Builds an index, intervals are merged and ordered if they are not yet
+     *
+     * @param intervals container of intervals, it is not modified
+     * @return index over intervals
+     */
+    public static IntervalIndex of(IntervalArray intervals) {
+        IntervalArray ordered = intervals.copy();
+        ordered.normalize();
+        int[] starts = new int[ordered.size];
+        int[] ends = new int[ordered.size];
+        for (int i = 0; i < ordered.size; i++) {
+            starts[i] = IntervalArray.start(ordered.data[i]);
+            ends[i] = IntervalArray.end(ordered.data[i]);
+        }
+        return new IntervalIndex(starts, ends);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public boolean contains(int value) {
+        int index = lastStartingAtOrBefore(value);
+        return index >= 0 && ends[index] >= value;
+    }
+
+    /**
+     * @param values numbers to look up
+     * @return true if all the numbers are contained
+     */
+    public boolean containsAll(int[] values) {
+        for (int value : values) {
+            if (!contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Looks up a batch of numbers
+     *
+     * @param values numbers to look up
+     * @param results array receiving for each number whether it is contained, at least as long as {@code values}
+     */
+    public void contains(int[] values, boolean[] results) {
+        if (results.length < values.length) {
+            throw new IllegalArgumentException("Results are shorter than values: " + results.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            results[i] = contains(values[i]);
+        }
+    }
+
+    /**
+     * @param value number to look up
+     * @return the interval containing the number or the nearest interval before it, null if there is none
+     */
+    public Interval floor(int value) {
+        int index = lastStartingAtOrBefore(value);
+        return index < 0 ? null : new Interval(starts[index], ends[index]);
+    }
+
+    /**
+     * @param value number to look up
+     * @return the interval containing the number or the nearest interval after it, null if there is none
+     */
+    public Interval ceiling(int value) {
+        int index = lastStartingAtOrBefore(value);
+        if (index < 0 || ends[index] < value) {
+            // the interval before the number does not contain it, so the next one is the nearest after
+            index++;
+        }
+        return index < starts.length ? new Interval(starts[index], ends[index]) : null;
+    }
+
+    /**
+     * Branch-free binary search
+     *
+     * @return index of the last interval starting at or before the value, -1 if there is none
+     */
+    private int lastStartingAtOrBefore(int value) {
+        int length = starts.length;
+        if (length == 0) {
+            return -1;
+        }
+        int base = 0;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = starts[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        return starts[base] <= value ? base : -1;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.intervalprogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener collecting measurements of phases into a {@link LatencyHistogram} and counters per phase.
+ * Each phase can be published as an MXBean named
+ * {@code com.example.intervalprogram:type=IntervalMetrics,name=<name>,phase=<phase>}.
+ * One instance may listen to several handlers at once
+ */
+public class IntervalMetrics implements IntervalMetricsListener {
+
+    private static final String DOMAIN = "com.example.intervalprogram";
+
+    private final Map<Phase, PhaseMetrics> phases = new EnumMap<>(Phase.class);
+
+    public IntervalMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseMetrics(phase));
+        }
+    }
+
+    @Override
+    public void onPhase(Phase phase, long nanos, int inputCount, int outputCount, long allocatedBytes) {
+        phases.get(phase).record(nanos, inputCount, outputCount, allocatedBytes);
+    }
+
+    /**
+     * @param phase phase
+     * @return measurements of the phase
+     */
+    public PhaseMetrics getPhase(Phase phase) {
+        return phases.get(phase);
+    }
+
+    public void reset() {
+        for (PhaseMetrics metrics : phases.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Registers MXBeans of all the phases in the platform MBean server
+     *
+     * @param name value of the {@code name} key of object names
+     * @throws JMException if the beans can not be registered, e.g. the name is taken
+     */
+    public void register(String name) throws JMException {
+        register(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    /**
+     * Registers MXBeans of all the phases
+     *
+     * @param server server to register in
+     * @param name value of the {@code name} key of object names
+     * @throws JMException if the beans can not be registered, e.g. the name is taken
+     */
+    public void register(MBeanServer server, String name) throws JMException {
+        for (Phase phase : Phase.values()) {
+            server.registerMBean(phases.get(phase), objectName(name, phase));
+        }
+    }
+
+    /**
+     * Removes MXBeans registered by {@link #register(MBeanServer, String)}
+     *
+     * @param server server the beans are registered in
+     * @param name value of the {@code name} key of object names
+     * @throws JMException if the beans can not be unregistered
+     */
+    public void unregister(MBeanServer server, String name) throws JMException {
+        for (Phase phase : Phase.values()) {
+            ObjectName objectName = objectName(name, phase);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        }
+    }
+
+    /**
+     * @param name value of the {@code name} key
+     * @param phase phase
+     * @return object name of the MXBean of the phase
+     * @throws JMException if the name can not be used in an object name
+     */
+    public static ObjectName objectName(String name, Phase phase) throws JMException {
+        return new ObjectName(DOMAIN + ":type=IntervalMetrics,name=" + ObjectName.quote(name) + ",phase=" + phase);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (PhaseMetrics metrics : phases.values()) {
+            if (metrics.getCount() > 0) {
+                builder.append(metrics).append(System.lineSeparator());
+            }
+        }
+        return builder.toString();
+    }
+
+
+    /**
+     * Management interface of measurements of one phase
+     */
+    public interface PhaseMetricsMXBean {
+
+        String getPhase();
+
+        long getCount();
+
+        double getMeanNanos();
+
+        long getP50Nanos();
+
+        long getP90Nanos();
+
+        long getP99Nanos();
+
+        long getP999Nanos();
+
+        long getMaxNanos();
+
+        long getInputCount();
+
+        long getOutputCount();
+
+        long getAllocatedBytes();
+
+        void reset();
+    }
+
+    /**
+     * Measurements of one phase
+     */
+    public static final class PhaseMetrics implements PhaseMetricsMXBean {
+
+        private final Phase phase;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder inputCount = new LongAdder();
+        private final LongAdder outputCount = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        PhaseMetrics(Phase phase) {
+            this.phase = phase;
+        }
+
+        void record(long nanos, int input, int output, long allocated) {
+            latency.record(nanos);
+            inputCount.add(input);
+            outputCount.add(output);
+            allocatedBytes.add(allocated);
+        }
+
+        /**
+         * @return histogram of durations of the phase in nanoseconds
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String getPhase() {
+            return phase.name();
+        }
+
+        @Override
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return latency.getMean();
+        }
+
+        @Override
+        public long getP50Nanos() {
+            return latency.getValueAtPercentile(50);
+        }
+
+        @Override
+        public long getP90Nanos() {
+            return latency.getValueAtPercentile(90);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return latency.getValueAtPercentile(99);
+        }
+
+        @Override
+        public long getP999Nanos() {
+            return latency.getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return latency.getMax();
+        }
+
+        /**
+         * @return total number of items received by the phase
+         */
+        @Override
+        public long getInputCount() {
+            return inputCount.sum();
+        }
+
+        /**
+         * @return total number of items produced by the phase
+         */
+        @Override
+        public long getOutputCount() {
+            return outputCount.sum();
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        @Override
+        public void reset() {
+            latency.reset();
+            inputCount.reset();
+            outputCount.reset();
+            allocatedBytes.reset();
+        }
+
+        @Override
+        public String toString() {
+            return phase + " (" + latency + ", input: " + getInputCount() + ", output: " + getOutputCount()
+                    + ", allocated bytes: " + getAllocatedBytes() + ")";
+        }
+    }
+}
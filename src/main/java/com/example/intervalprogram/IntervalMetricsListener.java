@@ -0,0 +1,59 @@
+package com.example.intervalprogram;
+
+/**
+ * Receives measurements of phases of interval processing from {@link IntervalHandler}.
+ * Handlers have no listener by default; then phases are not timed at all, so a disabled listener
+ * costs one read of a field per phase.
+ * Calls may come from several threads at once, e.g. from workers of {@link IntervalHandlerByForkJoin}
+ */
+public interface IntervalMetricsListener {
+
+    /**
+     * Estimated size of an {@link Interval} with a reference to it in a list
+     */
+    long INTERVAL_BYTES = 28;
+
+    /**
+     * Size of an interval packed into {@link IntervalArray}
+     */
+    long PACKED_INTERVAL_BYTES = 8;
+
+    /**
+     * Estimated size of a boxed integer stored in a {@link java.util.TreeSet}
+     */
+    long BOXED_INTEGER_BYTES = 56;
+
+    enum Phase {
+        /**
+         * Parsing of a string, the input count is the number of characters
+         */
+        PARSE,
+        /**
+         * Ordering of intervals (of integers for the point-set handlers)
+         */
+        SORT,
+        /**
+         * Merging of ordered intervals, the difference between input and output counts is the number of merges
+         */
+        MERGE,
+        /**
+         * Complement of includes with excludes, the input count is the sum of both
+         */
+        COMPLEMENT,
+        /**
+         * Formatting of intervals, the output count is the number of characters
+         */
+        FORMAT
+    }
+
+    /**
+     * Called when a phase is finished
+     *
+     * @param phase finished phase
+     * @param nanos duration of the phase
+     * @param inputCount number of items the phase received
+     * @param outputCount number of items the phase produced
+     * @param allocatedBytes estimated number of bytes allocated by the phase
+     */
+    void onPhase(Phase phase, long nanos, int inputCount, int outputCount, long allocatedBytes);
+}
@@ -0,0 +1,223 @@
+package com.example.intervalprogram;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+
+/**
+ * Single pass scanner converting a text like "10-19, 31-100" into packed intervals.
+ * Numbers are accumulated straight from characters, no regular expression and no intermediate String is used.
+ * The result is the same as splitting by {@code ",\\s*"} and accepting tokens matching
+ * {@code -?\d+--?\d+}: malformed tokens are skipped, reversed bounds are swapped.
+ * Text may be fed in several parts, the state between parts is kept by the scanner
+ */
+public class IntervalParser {
+
+    // states of the scanner inside a token
+    private static final int START = 0;
+    private static final int FIRST_SIGN = 1;
+    private static final int FIRST_DIGITS = 2;
+    private static final int DASH = 3;
+    private static final int SECOND_SIGN = 4;
+    private static final int SECOND_DIGITS = 5;
+    private static final int MALFORMED = 6;
+    private static final int SEPARATOR = 7;
+
+    private static final long INT_OVERFLOW = 1L << 31;
+
+    private final IntervalArray target;
+    private int state = START;
+    private boolean firstNegative;
+    private boolean secondNegative;
+    private long first;
+    private long second;
+
+    /**
+     * @param target container to append parsed intervals to
+     */
+    public IntervalParser(IntervalArray target) {
+        this.target = target;
+    }
+
+    /**
+     * Parses a whole text
+     *
+     * @param text intervals of integers in string view, may be empty
+     * @return container of parsed intervals
+     */
+    public static IntervalArray parse(CharSequence text) {
+        IntervalParser parser = new IntervalParser(new IntervalArray());
+        parser.feed(text);
+        return parser.finish();
+    }
+
+    /**
+     * Parses all the characters of a reader, the reader is not closed
+     *
+     * @param reader source of the text
+     * @return container of parsed intervals
+     * @throws IOException if reading fails
+     */
+    public static IntervalArray parse(Reader reader) throws IOException {
+        IntervalParser parser = new IntervalParser(new IntervalArray());
+        char[] buffer = new char[8192];
+        int count;
+        while ((count = reader.read(buffer)) >= 0) {
+            parser.feed(buffer, 0, count);
+        }
+        return parser.finish();
+    }
+
+    /**
+     * Parses remaining bytes of a buffer as ASCII text, the position of the buffer is not changed
+     *
+     * @param buffer source of the text
+     * @return container of parsed intervals
+     */
+    public static IntervalArray parse(ByteBuffer buffer) {
+        IntervalParser parser = new IntervalParser(new IntervalArray());
+        parser.feed(buffer);
+        return parser.finish();
+    }
+
+    public void feed(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    public void feed(char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    /**
+     * Feeds remaining bytes of a buffer as ASCII characters, the position of the buffer is not changed
+     *
+     * @param buffer part of the text
+     */
+    public void feed(ByteBuffer buffer) {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            accept((char) (buffer.get(i) & 0xFF));
+        }
+    }
+
+    /**
+     * Completes the last token, after that the scanner is ready for a new text
+     *
+     * @return the target container
+     */
+    public IntervalArray finish() {
+        completeToken();
+        state = START;
+        return target;
+    }
+
+    private void accept(char c) {
+        if (c == ',') {
+            completeToken();
+            state = SEPARATOR;
+            return;
+        }
+        boolean digit = c >= '0' && c <= '9';
+        switch (state) {
+            case SEPARATOR:
+                if (!isWhitespace(c)) {
+                    startToken(c, digit);
+                }
+                break;
+            case START:
+                startToken(c, digit);
+                break;
+            case FIRST_SIGN:
+                if (digit) {
+                    first = c - '0';
+                    state = FIRST_DIGITS;
+                } else {
+                    state = MALFORMED;
+                }
+                break;
+            case FIRST_DIGITS:
+                if (digit) {
+                    first = accumulate(first, c);
+                } else {
+                    state = c == '-' ? DASH : MALFORMED;
+                }
+                break;
+            case DASH:
+                if (digit) {
+                    second = c - '0';
+                    state = SECOND_DIGITS;
+                } else if (c == '-') {
+                    secondNegative = true;
+                    state = SECOND_SIGN;
+                } else {
+                    state = MALFORMED;
+                }
+                break;
+            case SECOND_SIGN:
+                if (digit) {
+                    second = c - '0';
+                    state = SECOND_DIGITS;
+                } else {
+                    state = MALFORMED;
+                }
+                break;
+            case SECOND_DIGITS:
+                if (digit) {
+                    second = accumulate(second, c);
+                } else {
+                    state = MALFORMED;
+                }
+                break;
+            default:
+                // malformed token is skipped up to the next separator
+                break;
+        }
+    }
+
+    /**
+     * Starts a token with its first character
+     */
+    private void startToken(char c, boolean digit) {
+        first = 0;
+        second = 0;
+        firstNegative = c == '-';
+        secondNegative = false;
+        if (digit) {
+            first = c - '0';
+            state = FIRST_DIGITS;
+        } else {
+            state = firstNegative ? FIRST_SIGN : MALFORMED;
+        }
+    }
+
+    private void completeToken() {
+        if (state == SECOND_DIGITS) {
+            target.add(toInt(first, firstNegative), toInt(second, secondNegative));
+        }
+    }
+
+    /**
+     * Appends a digit keeping the value just beyond int range, so long never overflows with long digit strings
+     */
+    private static long accumulate(long value, char digit) {
+        return Math.min(value * 10 + (digit - '0'), INT_OVERFLOW + 1);
+    }
+
+    private static int toInt(long value, boolean negative) {
+        if (value > INT_OVERFLOW || (value == INT_OVERFLOW && !negative)) {
+            // the same failure as Integer.parseInt gives
+            throw new NumberFormatException("Interval bound is out of int range");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * The same set of characters as {@code \s} of regular expressions
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\013' || c == '\f' || c == '\r';
+    }
+}
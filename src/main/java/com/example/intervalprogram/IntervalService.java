@@ -0,0 +1,253 @@
+package com.example.intervalprogram;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Asynchronous front-end running {@code parseIntervals → processIntervals → formatOutput} jobs of a handler.
+ * Jobs run on virtual threads when the JDK provides them (looked up by reflection, as the code targets Java 8),
+ * otherwise on a pool of platform threads, one per core.
+ * The number of pending jobs is bounded: a job over the bound is rejected at once
+ * with {@link RejectedExecutionException}, so callers see backpressure instead of a growing queue.
+ * Identical requests submitted while the first of them is pending share its result.
+ * The handler must be safe for concurrent use, all the handlers of the project are
+ */
+public class IntervalService implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    private final IntervalHandler handler;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final int maxPending;
+    private final Semaphore permits;
+    private final ConcurrentMap<Request, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param handler handler processing jobs
+     */
+    public IntervalService(IntervalHandler handler) {
+        this(handler, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * @param handler handler processing jobs
+     * @param maxPending maximal number of submitted jobs not yet finished
+     */
+    public IntervalService(IntervalHandler handler, int maxPending) {
+        this(handler, maxPending, newVirtualThreadExecutor(), true);
+    }
+
+    /**
+     * @param handler handler processing jobs
+     * @param maxPending maximal number of submitted jobs not yet finished
+     * @param executor executor running jobs, it is shut down by {@link #close()}
+     */
+    public IntervalService(IntervalHandler handler, int maxPending, ExecutorService executor) {
+        this(handler, maxPending, Objects.requireNonNull(executor), false);
+    }
+
+    /**
+     * @param executor executor running jobs, null to create a pool of platform threads
+     * @param virtual true if the executor runs jobs on virtual threads
+     */
+    private IntervalService(IntervalHandler handler, int maxPending, ExecutorService executor, boolean virtual) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Maximal number of pending jobs must be positive: " + maxPending);
+        }
+        this.handler = handler;
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+        this.virtualThreads = virtual && executor != null;
+        this.executor = executor != null ? executor : newPlatformThreadExecutor();
+    }
+
+    /**
+     * Submits a job
+     *
+     * @param includes includes in string view like "10-19, 31-100"
+     * @param excludes excludes in string view
+     * @return future of the formatted result, it fails with {@link RejectedExecutionException}
+     * if there are too many pending jobs or the service is closed
+     */
+    public CompletableFuture<String> submit(String includes, String excludes) {
+        Request request = new Request(includes, excludes);
+        CompletableFuture<String> pending = inFlight.get(request);
+        if (pending != null) {
+            coalesced.incrementAndGet();
+            return copy(pending);
+        }
+        if (!permits.tryAcquire()) {
+            rejected.incrementAndGet();
+            return failed(new RejectedExecutionException("Too many pending jobs: " + maxPending));
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        pending = inFlight.putIfAbsent(request, result);
+        if (pending != null) {
+            // an identical job was submitted concurrently
+            permits.release();
+            coalesced.incrementAndGet();
+            return copy(pending);
+        }
+        try {
+            executor.execute(() -> run(request, result));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(request, result);
+            permits.release();
+            rejected.incrementAndGet();
+            result.completeExceptionally(e);
+        }
+        return copy(result);
+    }
+
+    /**
+     * @return true if jobs run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return number of jobs submitted and not yet finished
+     */
+    public int getPendingCount() {
+        return maxPending - permits.availablePermits();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * @return number of requests which shared the result of an identical pending job
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops accepting jobs and waits for the pending ones to finish
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(Request request, CompletableFuture<String> result) {
+        String formatted = null;
+        Throwable failure = null;
+        try {
+            List<Interval> processed = handler.processIntervals(handler.parseIntervals(request.includes),
+                                                                handler.parseIntervals(request.excludes));
+            formatted = handler.formatOutput(processed);
+        } catch (Throwable e) {
+            failure = e;
+        }
+        // the job is finished before callers are notified, later identical requests start a new job
+        inFlight.remove(request, result);
+        permits.release();
+        completed.incrementAndGet();
+        if (failure == null) {
+            result.complete(formatted);
+        } else {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Each caller gets its own future, so cancelling it does not affect other callers of the same job
+     */
+    private static CompletableFuture<String> copy(CompletableFuture<String> future) {
+        return future.thenApply(Function.identity());
+    }
+
+    private static CompletableFuture<String> failed(Throwable e) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * @return executor creating a virtual thread per job or null if the JDK has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger number = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "interval-service-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // the queue is bounded by the permits
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                                      factory);
+    }
+
+
+    private static final class Request {
+
+        private final String includes;
+        private final String excludes;
+
+        Request(String includes, String excludes) {
+            this.includes = includes;
+            this.excludes = excludes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Request)) return false;
+
+            Request request = (Request) o;
+
+            return includes.equals(request.includes) && excludes.equals(request.excludes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * includes.hashCode() + excludes.hashCode();
+        }
+    }
+}
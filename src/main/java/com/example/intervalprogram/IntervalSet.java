@@ -0,0 +1,129 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Mutable set of disjoint intervals kept in a balanced tree keyed by their starts.
+ * Unlike {@link IntervalHandler#processIntervals(List, List)} it is updated one interval at a time:
+ * each update costs O(log n + k) where k is the number of intervals touched by the update.
+ * Merging follows the rules of {@code orderIntervals} (only overlapped intervals are merged),
+ * splitting follows the rules of {@code interactIntervals}
+ */
+public class IntervalSet implements Iterable<Interval> {
+
+    private final NavigableMap<Integer, Interval> intervals = new TreeMap<>();
+
+    public IntervalSet() {
+    }
+
+    /**
+     * Creates a set containing merged given intervals
+     *
+     * @param intervals list of non ordered intervals
+     */
+    public IntervalSet(List<Interval> intervals) {
+        for (Interval interval : intervals) {
+            add(interval);
+        }
+    }
+
+    /**
+     * Adds an interval merging it with all the intervals it overlaps
+     *
+     * @param include interval to add
+     */
+    public void add(Interval include) {
+        int start = include.getStart();
+        int end = include.getEnd();
+        Map.Entry<Integer, Interval> floor = intervals.floorEntry(start);
+        if (floor != null && floor.getValue().getEnd() >= start) {
+            // overlapped with the interval starting before
+            if (floor.getValue().getEnd() >= end) {
+                return;
+            }
+            start = floor.getKey();
+        }
+        // all the intervals starting inside the new one are absorbed, only the last of them can stick out
+        NavigableMap<Integer, Interval> overlapped = intervals.subMap(start, true, end, true);
+        if (!overlapped.isEmpty()) {
+            end = Math.max(end, overlapped.lastEntry().getValue().getEnd());
+            overlapped.clear();
+        }
+        intervals.put(start, start == include.getStart() && end == include.getEnd()
+                ? include : new Interval(start, end));
+    }
+
+    /**
+     * Removes all the numbers of an interval splitting intervals it overlaps partially
+     *
+     * @param exclude interval to remove
+     */
+    public void subtract(Interval exclude) {
+        int exStart = exclude.getStart();
+        int exEnd = exclude.getEnd();
+        Map.Entry<Integer, Interval> floor = intervals.floorEntry(exStart);
+        if (floor != null && floor.getValue().getEnd() >= exStart) {
+            Interval include = floor.getValue();
+            if (include.getStart() < exStart) {
+                intervals.put(include.getStart(), new Interval(include.getStart(), exStart - 1));
+            } else {
+                intervals.remove(include.getStart());
+            }
+            if (include.getEnd() > exEnd) {
+                intervals.put(exEnd + 1, new Interval(exEnd + 1, include.getEnd()));
+                return;
+            }
+        }
+        NavigableMap<Integer, Interval> overlapped = intervals.subMap(exStart, true, exEnd, true);
+        if (!overlapped.isEmpty()) {
+            Interval last = overlapped.lastEntry().getValue();
+            overlapped.clear();
+            if (last.getEnd() > exEnd) {
+                intervals.put(exEnd + 1, new Interval(exEnd + 1, last.getEnd()));
+            }
+        }
+    }
+
+    public boolean contains(int value) {
+        Map.Entry<Integer, Interval> floor = intervals.floorEntry(value);
+        return floor != null && floor.getValue().getEnd() >= value;
+    }
+
+    public int size() {
+        return intervals.size();
+    }
+
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    public void clear() {
+        intervals.clear();
+    }
+
+    /**
+     * @return iterator over intervals ordered by their starts, it does not support removal
+     */
+    @Override
+    public Iterator<Interval> iterator() {
+        return Collections.unmodifiableCollection(intervals.values()).iterator();
+    }
+
+    /**
+     * @return list of ordered intervals
+     */
+    public List<Interval> toList() {
+        return new ArrayList<>(intervals.values());
+    }
+
+    @Override
+    public String toString() {
+        return intervals.values().toString();
+    }
+}
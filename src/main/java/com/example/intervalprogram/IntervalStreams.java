@@ -0,0 +1,214 @@
+package com.example.intervalprogram;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy set operations over sources of intervals already sorted by their starts, e.g. sorted dumps on disk.
+ * Intervals are merged and complemented one at a time, so working memory does not depend on the size of sources.
+ * The order of sources is checked on the fly: an interval starting before the previous one
+ * fails the iteration with {@link IllegalStateException}.
+ * Results are the same as {@link IntervalHandlerBySweep} gives
+ */
+public class IntervalStreams {
+
+    private IntervalStreams() {
+    }
+
+    /**
+     * Wraps a source checking that each interval does not start before the previous one
+     *
+     * @param sorted intervals sorted by their starts
+     * @return iterator failing with {@link IllegalStateException} on an unsorted interval
+     */
+    public static Iterator<Interval> requireSorted(Iterator<Interval> sorted) {
+        return sorted instanceof SortedIterator ? sorted : new SortedIterator(sorted);
+    }
+
+    /**
+     * Lazily merges overlapped intervals of a sorted source
+     *
+     * @param sorted intervals sorted by their starts
+     * @return iterator of merged (non overlapped) ordered intervals
+     */
+    public static Iterator<Interval> merge(Iterator<Interval> sorted) {
+        return sorted instanceof MergingIterator ? sorted : new MergingIterator(requireSorted(sorted));
+    }
+
+    /**
+     * Lazily performs complement of sorted includes with sorted excludes
+     *
+     * @param includes includes sorted by their starts
+     * @param excludes excludes sorted by their starts
+     * @return iterator of ordered intervals representing difference between includes and excludes
+     */
+    public static Iterator<Interval> complement(Iterator<Interval> includes, Iterator<Interval> excludes) {
+        return new ComplementIterator(merge(includes), merge(excludes));
+    }
+
+    /**
+     * The same as {@link #complement(Iterator, Iterator)} for streams, closing the result closes both sources
+     *
+     * @param includes includes sorted by their starts
+     * @param excludes excludes sorted by their starts
+     * @return sequential stream of ordered intervals representing difference between includes and excludes
+     */
+    public static Stream<Interval> complement(Stream<Interval> includes, Stream<Interval> excludes) {
+        Iterator<Interval> complemented = complement(includes.iterator(), excludes.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(complemented, Spliterator.ORDERED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                .onClose(includes::close)
+                .onClose(excludes::close);
+    }
+
+    /**
+     * The same as {@link #complement(Iterator, Iterator)} for spliterators
+     *
+     * @param includes includes sorted by their starts
+     * @param excludes excludes sorted by their starts
+     * @return spliterator of ordered intervals representing difference between includes and excludes
+     */
+    public static Spliterator<Interval> complement(Spliterator<Interval> includes, Spliterator<Interval> excludes) {
+        return Spliterators.spliteratorUnknownSize(complement(Spliterators.iterator(includes),
+                                                              Spliterators.iterator(excludes)),
+                                                   Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+
+    /**
+     * Iterator with one interval read ahead
+     */
+    private abstract static class LookAheadIterator implements Iterator<Interval> {
+
+        private Interval next;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = computeNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Interval next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Interval result = next;
+            next = null;
+            return result;
+        }
+
+        /**
+         * @return the next interval or null if there are no more intervals
+         */
+        abstract Interval computeNext();
+    }
+
+    private static final class SortedIterator extends LookAheadIterator {
+
+        private final Iterator<Interval> source;
+        private Interval previous;
+
+        SortedIterator(Iterator<Interval> source) {
+            this.source = source;
+        }
+
+        @Override
+        Interval computeNext() {
+            if (!source.hasNext()) {
+                return null;
+            }
+            Interval current = source.next();
+            if (previous != null && current.getStart() < previous.getStart()) {
+                throw new IllegalStateException("Intervals are not sorted: " + current + " follows " + previous);
+            }
+            previous = current;
+            return current;
+        }
+    }
+
+    private static final class MergingIterator extends LookAheadIterator {
+
+        private final Iterator<Interval> source;
+        private Interval pending;
+
+        MergingIterator(Iterator<Interval> source) {
+            this.source = source;
+        }
+
+        @Override
+        Interval computeNext() {
+            Interval previous = pending != null ? pending : source.hasNext() ? source.next() : null;
+            pending = null;
+            if (previous == null) {
+                return null;
+            }
+            int end = previous.getEnd();
+            while (source.hasNext()) {
+                Interval current = source.next();
+                if (current.getStart() > end) {
+                    // not overlapped, keep it for the next call
+                    pending = current;
+                    break;
+                }
+                end = Math.max(end, current.getEnd());
+            }
+            return end == previous.getEnd() ? previous : new Interval(previous.getStart(), end);
+        }
+    }
+
+    private static final class ComplementIterator extends LookAheadIterator {
+
+        private final Iterator<Interval> includes;
+        private final Iterator<Interval> excludes;
+        private Interval include;
+        private Interval exclude;
+        // long is used as the next uncovered number may be beyond Integer.MAX_VALUE
+        private long uncovered;
+
+        ComplementIterator(Iterator<Interval> includes, Iterator<Interval> excludes) {
+            this.includes = includes;
+            this.excludes = excludes;
+        }
+
+        @Override
+        Interval computeNext() {
+            while (true) {
+                if (include == null) {
+                    if (!includes.hasNext()) {
+                        return null;
+                    }
+                    include = includes.next();
+                    uncovered = include.getStart();
+                }
+                // skip excludes lying entirely before the uncovered part of the include
+                while (exclude == null || exclude.getEnd() < uncovered) {
+                    if (!excludes.hasNext()) {
+                        exclude = null;
+                        break;
+                    }
+                    exclude = excludes.next();
+                }
+                Interval current = include;
+                if (exclude == null || exclude.getStart() > current.getEnd()) {
+                    include = null;
+                    return uncovered == current.getStart() ? current : new Interval((int) uncovered, current.getEnd());
+                }
+                long piece = uncovered;
+                uncovered = (long) exclude.getEnd() + 1;
+                if (uncovered > current.getEnd()) {
+                    include = null;
+                }
+                if (exclude.getStart() > piece) {
+                    return new Interval((int) piece, exclude.getStart() - 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.intervalprogram;
+
+/**
+ * Immutable data holder representing an interval (range) of long numbers,
+ * e.g. unsigned IPv4 addresses, timestamps or 64-bit identifiers
+ *
+ */
+public class LongInterval {
+
+    private final long start;
+    private final long end;
+
+    /**
+     * Constructor makes sure that the field {@code start} gets a lower value
+     *
+     * @param start starting number of the interval
+     * @param end ending number of the interval
+     */
+    public LongInterval(long start, long end) {
+        if (end < start) {
+            this.start = end;
+            this.end = start;
+        } else {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongInterval)) return false;
+
+        LongInterval interval = (LongInterval) o;
+
+        return start == interval.start && end == interval.end;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(start);
+        result = 31 * result + Long.hashCode(end);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return start + "-" + end;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable container of long intervals specialized by the range of values.
+ * While every value fits into int the intervals are kept in an {@link IntervalArray} (8 bytes per interval),
+ * the first value beyond int range switches the container to pairs of longs (16 bytes per interval).
+ * So workloads of int values pay nothing for long support
+ */
+public class LongIntervalArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // not null while all the values fit into int
+    private IntervalArray narrow;
+    // start and end of each interval one after another, used once a value does not fit into int
+    private long[] wide;
+    private int wideSize;
+
+    public LongIntervalArray() {
+        narrow = new IntervalArray();
+    }
+
+    private LongIntervalArray(IntervalArray narrow) {
+        this.narrow = narrow;
+    }
+
+    /**
+     * Creates a container filled with given intervals in the same order
+     *
+     * @param intervals list of intervals
+     * @return container holding the intervals
+     */
+    public static LongIntervalArray fromList(List<LongInterval> intervals) {
+        LongIntervalArray array = new LongIntervalArray();
+        for (LongInterval interval : intervals) {
+            array.add(interval.getStart(), interval.getEnd());
+        }
+        return array;
+    }
+
+    /**
+     * @return list of intervals in the same order
+     */
+    public List<LongInterval> toList() {
+        List<LongInterval> intervals = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            intervals.add(new LongInterval(getStart(i), getEnd(i)));
+        }
+        return intervals;
+    }
+
+    /**
+     * Appends an interval, bounds are swapped the same way as {@link LongInterval} does
+     *
+     * @param start starting number of the interval
+     * @param end ending number of the interval
+     */
+    public void add(long start, long end) {
+        if (end < start) {
+            long swap = start;
+            start = end;
+            end = swap;
+        }
+        if (narrow != null) {
+            if (fitsInt(start) && fitsInt(end)) {
+                narrow.add((int) start, (int) end);
+                return;
+            }
+            widen();
+        }
+        if (2 * wideSize + 2 > wide.length) {
+            // grows by half of the intervals, the length stays even as each interval takes two longs
+            int intervals = Math.max(DEFAULT_CAPACITY, wideSize + (wideSize >> 1) + 1);
+            wide = Arrays.copyOf(wide, 2 * intervals);
+        }
+        wide[2 * wideSize] = start;
+        wide[2 * wideSize + 1] = end;
+        wideSize++;
+    }
+
+    /**
+     * @return true if intervals are stored as pairs of longs
+     */
+    public boolean isWide() {
+        return narrow == null;
+    }
+
+    public int size() {
+        return narrow != null ? narrow.size() : wideSize;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public long getStart(int index) {
+        if (narrow != null) {
+            return narrow.getStart(index);
+        }
+        checkIndex(index);
+        return wide[2 * index];
+    }
+
+    public long getEnd(int index) {
+        if (narrow != null) {
+            return narrow.getEnd(index);
+        }
+        checkIndex(index);
+        return wide[2 * index + 1];
+    }
+
+    public LongIntervalArray copy() {
+        if (narrow != null) {
+            return new LongIntervalArray(narrow.copy());
+        }
+        LongIntervalArray copy = new LongIntervalArray(null);
+        copy.wide = Arrays.copyOf(wide, 2 * wideSize);
+        copy.wideSize = wideSize;
+        return copy;
+    }
+
+    /**
+     * Sorts and merges the intervals in place following the rules of {@code orderIntervals}
+     */
+    public void normalize() {
+        if (narrow != null) {
+            narrow.normalize();
+            return;
+        }
+        sortWide();
+        if (wideSize < 2) {
+            return;
+        }
+        int written = 0;
+        long previousStart = wide[0];
+        long previousEnd = wide[1];
+        for (int i = 1; i < wideSize; i++) {
+            long currentStart = wide[2 * i];
+            long currentEnd = wide[2 * i + 1];
+            if (currentStart <= previousEnd) {
+                // overlapped
+                previousEnd = Math.max(previousEnd, currentEnd);
+            } else {
+                wide[2 * written] = previousStart;
+                wide[2 * written++ + 1] = previousEnd;
+                previousStart = currentStart;
+                previousEnd = currentEnd;
+            }
+        }
+        wide[2 * written] = previousStart;
+        wide[2 * written++ + 1] = previousEnd; // last interval
+        wideSize = written;
+    }
+
+    /**
+     * Performs complement of the intervals with given excludes. Both containers must be normalized.
+     * If both of them are narrow the complement is done on ints
+     *
+     * @param excludes normalized excludes
+     * @return new normalized container with excluded excludes
+     */
+    public LongIntervalArray subtract(LongIntervalArray excludes) {
+        if (narrow != null && excludes.narrow != null) {
+            return new LongIntervalArray(narrow.subtract(excludes.narrow));
+        }
+        LongIntervalArray result = new LongIntervalArray();
+        int first = 0;
+        for (int i = 0; i < size(); i++) {
+            long inStart = getStart(i);
+            long inEnd = getEnd(i);
+            // skip excludes lying entirely before the include
+            while (first < excludes.size() && excludes.getEnd(first) < inStart) {
+                first++;
+            }
+            long uncovered = inStart;
+            boolean covered = false;
+            for (int j = first; j < excludes.size(); j++) {
+                long exStart = excludes.getStart(j);
+                long exEnd = excludes.getEnd(j);
+                if (exStart > inEnd) {
+                    break;
+                }
+                if (exStart > uncovered) {
+                    result.add(uncovered, exStart - 1);
+                }
+                // no number follows Long.MAX_VALUE, so the rest of the include is covered
+                if (exEnd >= inEnd) {
+                    covered = true;
+                    break;
+                }
+                uncovered = Math.max(uncovered, exEnd + 1);
+            }
+            if (!covered) {
+                result.add(uncovered, inEnd);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongIntervalArray)) return false;
+
+        LongIntervalArray other = (LongIntervalArray) o;
+        if (size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (getStart(i) != other.getStart(i) || getEnd(i) != other.getEnd(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size(); i++) {
+            result = 31 * result + 31 * Long.hashCode(getStart(i)) + Long.hashCode(getEnd(i));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    private static boolean fitsInt(long value) {
+        return value == (int) value;
+    }
+
+    private void widen() {
+        wideSize = narrow.size();
+        wide = new long[Math.max(2 * DEFAULT_CAPACITY, 2 * wideSize + 2)];
+        for (int i = 0; i < wideSize; i++) {
+            wide[2 * i] = narrow.getStart(i);
+            wide[2 * i + 1] = narrow.getEnd(i);
+        }
+        narrow = null;
+    }
+
+    /**
+     * Heap sort of pairs by their starts, it needs no extra memory
+     */
+    private void sortWide() {
+        for (int i = wideSize / 2 - 1; i >= 0; i--) {
+            siftDown(i, wideSize);
+        }
+        for (int last = wideSize - 1; last > 0; last--) {
+            swap(0, last);
+            siftDown(0, last);
+        }
+    }
+
+    private void siftDown(int root, int size) {
+        while (2 * root + 1 < size) {
+            int child = 2 * root + 1;
+            if (child + 1 < size && wide[2 * (child + 1)] > wide[2 * child]) {
+                child++;
+            }
+            if (wide[2 * root] >= wide[2 * child]) {
+                return;
+            }
+            swap(root, child);
+            root = child;
+        }
+    }
+
+    private void swap(int first, int second) {
+        long start = wide[2 * first];
+        long end = wide[2 * first + 1];
+        wide[2 * first] = wide[2 * second];
+        wide[2 * first + 1] = wide[2 * second + 1];
+        wide[2 * second] = start;
+        wide[2 * second + 1] = end;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= wideSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + wideSize);
+        }
+    }
+}
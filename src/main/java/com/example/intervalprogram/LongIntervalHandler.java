@@ -0,0 +1,46 @@
+package com.example.intervalprogram;
+
+import java.util.List;
+
+/**
+ * Processes intervals of long numbers the same way {@link IntervalHandlerBySweep} processes intervals of ints.
+ * Bounds are handled correctly up to {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE}.
+ * Inputs whose values all fit into int are processed on ints by {@link IntervalArray}
+ */
+public class LongIntervalHandler {
+
+    /**
+     * Normalizes (excludes overlapping and sorts) the given lists
+     * and returns a list of includes with removed excludes
+     *
+     * @param includes list of includes
+     * @param excludes list of excludes
+     *
+     * @return resulting list after deducting excludes from includes
+     */
+    public List<LongInterval> processIntervals(List<LongInterval> includes, List<LongInterval> excludes) {
+        return complementIntervals(LongIntervalArray.fromList(includes), LongIntervalArray.fromList(excludes))
+                .toList();
+    }
+
+    /**
+     * The same as {@link #processIntervals(List, List)} for containers, the given containers are not modified
+     *
+     * @param includes container of includes
+     * @param excludes container of excludes
+     *
+     * @return resulting container after deducting excludes from includes
+     */
+    public LongIntervalArray processIntervals(LongIntervalArray includes, LongIntervalArray excludes) {
+        return complementIntervals(includes.copy(), excludes.copy());
+    }
+
+    private LongIntervalArray complementIntervals(LongIntervalArray includes, LongIntervalArray excludes) {
+        includes.normalize();
+        if (excludes.isEmpty() || includes.isEmpty()) {
+            return includes;
+        }
+        excludes.normalize();
+        return includes.subtract(excludes);
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.intervalprogram;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            runFiles(args);
+            return;
+        }
         // Example 1
         runExample(1, "10-100", "20-30");
         // Example 2
@@ -27,4 +33,19 @@ public class Main {
         System.out.println("Result: " + output);
         System.out.println();
     }
+
+    /**
+     * Processes files of intervals: [--binary] includes excludes output
+     */
+    private static void runFiles(String[] args) throws IOException {
+        boolean binary = args[0].equals("--binary");
+        int first = binary ? 1 : 0;
+        if (args.length - first != 3) {
+            System.err.println("Usage: Main [--binary] <includes file> <excludes file> <output file>");
+            System.exit(1);
+        }
+        IntervalFiles.process(new IntervalHandlerBySweep(), Paths.get(args[first]), Paths.get(args[first + 1]),
+                              Paths.get(args[first + 2]),
+                              binary ? IntervalFiles.Format.BINARY : IntervalFiles.Format.TEXT);
+    }
 }
@@ -0,0 +1,202 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Includes normalized once (merged and ordered the same way as {@code orderIntervals} does)
+ * to subtract many exclude sets from. The result of each subtraction is the same as
+ * {@link IntervalHandler#processIntervals(List, List)} gives for the includes and the excludes.
+ * Excludes are located by binary search, includes between them are copied as whole blocks,
+ * so a small exclude set costs O(m log n) plus copying of the result.
+ * The object is immutable and may be used by several threads at once
+ */
+public class PreparedIntervals {
+
+    private final IntervalArray includes;
+
+    private PreparedIntervals(IntervalArray includes) {
+        this.includes = includes;
+    }
+
+    /**
+     * @param includes list of non ordered includes
+     * @return prepared includes
+     */
+    public static PreparedIntervals of(List<Interval> includes) {
+        IntervalArray ordered = IntervalArray.fromList(includes);
+        ordered.normalize();
+        return new PreparedIntervals(ordered);
+    }
+
+    /**
+     * @param includes container of non ordered includes, it is not modified
+     * @return prepared includes
+     */
+    public static PreparedIntervals of(IntervalArray includes) {
+        IntervalArray ordered = includes.copy();
+        ordered.normalize();
+        return new PreparedIntervals(ordered);
+    }
+
+    /**
+     * @return number of normalized includes
+     */
+    public int size() {
+        return includes.size;
+    }
+
+    /**
+     * @return copy of normalized includes
+     */
+    public IntervalArray toIntervalArray() {
+        return includes.copy();
+    }
+
+    /**
+     * @param excludes list of non ordered excludes
+     * @return list of includes with removed excludes
+     */
+    public List<Interval> subtract(List<Interval> excludes) {
+        return subtract(IntervalArray.fromList(excludes)).toList();
+    }
+
+    /**
+     * @param excludes container of non ordered excludes, it is not modified
+     * @return container of includes with removed excludes
+     */
+    public IntervalArray subtract(IntervalArray excludes) {
+        IntervalArray excludesOrdered = excludes.copy();
+        excludesOrdered.normalize();
+        long[] data = includes.data;
+        IntervalArray result = new IntervalArray(includes.size + excludesOrdered.size);
+        // includes before this index are already in the result
+        int copied = 0;
+        int j = 0;
+        while (j < excludesOrdered.size) {
+            int from = firstEndingAtOrAfter(IntervalArray.start(excludesOrdered.data[j]), copied);
+            int to = firstStartingAfter(IntervalArray.end(excludesOrdered.data[j]), from);
+            int exFrom = j++;
+            // the next excludes cutting the last touched include are subtracted together
+            while (j < excludesOrdered.size && to > from
+                    && IntervalArray.start(excludesOrdered.data[j]) <= IntervalArray.end(data[to - 1])) {
+                to = firstStartingAfter(IntervalArray.end(excludesOrdered.data[j++]), to);
+            }
+            append(data, copied, from, result);
+            IntervalArray.subtractRange(data, from, to, excludesOrdered.data, exFrom, j, result);
+            copied = to;
+        }
+        append(data, copied, includes.size, result);
+        return result;
+    }
+
+    /**
+     * Subtracts each exclude set from the includes
+     *
+     * @param excludeSets lists of non ordered excludes
+     * @param parallel true to process exclude sets in parallel in the common {@link java.util.concurrent.ForkJoinPool}
+     * @return results in the order of exclude sets with the time taken by each of them
+     */
+    public BatchResult subtractAll(List<List<Interval>> excludeSets, boolean parallel) {
+        int count = excludeSets.size();
+        List<List<Interval>> results = new ArrayList<>(Collections.nCopies(count, null));
+        long[] nanos = new long[count];
+        long start = System.nanoTime();
+        IntStream indexes = IntStream.range(0, count);
+        (parallel ? indexes.parallel() : indexes).forEach(i -> {
+            long batchStart = System.nanoTime();
+            List<Interval> result = subtract(excludeSets.get(i));
+            nanos[i] = System.nanoTime() - batchStart;
+            results.set(i, result);
+        });
+        return new BatchResult(results, nanos, System.nanoTime() - start);
+    }
+
+    private static void append(long[] data, int from, int to, IntervalArray result) {
+        System.arraycopy(data, from, result.data, result.size, to - from);
+        result.size += to - from;
+    }
+
+    /**
+     * Ends of normalized intervals are ordered too, so the search is done by ends
+     *
+     * @return index of the first include at or after {@code low} whose end is not less than a value
+     */
+    private int firstEndingAtOrAfter(int value, int low) {
+        int high = includes.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (IntervalArray.end(includes.data[middle]) < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return index of the first include at or after {@code low} whose start is greater than a value
+     */
+    private int firstStartingAfter(int value, int low) {
+        int high = includes.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (IntervalArray.start(includes.data[middle]) <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Results of {@link #subtractAll(List, boolean)}
+     */
+    public static final class BatchResult {
+
+        private final List<List<Interval>> results;
+        private final long[] nanos;
+        private final long totalNanos;
+
+        BatchResult(List<List<Interval>> results, long[] nanos, long totalNanos) {
+            this.results = Collections.unmodifiableList(results);
+            this.nanos = nanos;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * @return results in the order of exclude sets
+         */
+        public List<List<Interval>> getResults() {
+            return results;
+        }
+
+        public List<Interval> getResult(int index) {
+            return results.get(index);
+        }
+
+        /**
+         * @param index index of an exclude set
+         * @return time taken by the exclude set in nanoseconds
+         */
+        public long getNanos(int index) {
+            return nanos[index];
+        }
+
+        /**
+         * @return wall time of the whole batch in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public int size() {
+            return results.size();
+        }
+    }
+}
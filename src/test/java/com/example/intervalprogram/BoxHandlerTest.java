@@ -0,0 +1,175 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoxHandlerTest {
+
+    private static final List<Box> INCLUDES_HOLE = Arrays.asList(new Box(new Interval(0, 9), new Interval(0, 9)));
+    private static final List<Box> EXCLUDES_HOLE = Arrays.asList(new Box(new Interval(3, 5), new Interval(3, 5)));
+    private static final List<Box> RESULT_HOLE = Arrays.asList(new Box(new Interval(0, 2), new Interval(0, 9)),
+                                                               new Box(new Interval(3, 5), new Interval(0, 2)),
+                                                               new Box(new Interval(3, 5), new Interval(6, 9)),
+                                                               new Box(new Interval(6, 9), new Interval(0, 9)));
+
+    private static final List<Box> INCLUDES_OVERLAP = Arrays.asList(new Box(new Interval(0, 9), new Interval(0, 9)),
+                                                                    new Box(new Interval(5, 14), new Interval(0, 9)),
+                                                                    new Box(new Interval(2, 7), new Interval(3, 4)));
+    private static final List<Box> RESULT_OVERLAP = Arrays.asList(new Box(new Interval(0, 14), new Interval(0, 9)));
+
+    private static final List<Box> INCLUDES_ADJACENT = Arrays.asList(new Box(new Interval(5, 10), new Interval(20, 30)),
+                                                                     new Box(new Interval(0, 4), new Interval(20, 30)));
+    private static final Box UNRELATED = new Box(new Interval(0, 10), new Interval(0, 5));
+    private static final List<Box> RESULT_ADJACENT = Arrays.asList(new Box(new Interval(0, 10), new Interval(20, 30)));
+    private static final List<Box> RESULT_ADJACENT_UNRELATED = Arrays.asList(
+            new Box(new Interval(0, 10), new Interval(0, 5)), new Box(new Interval(0, 10), new Interval(20, 30)));
+
+    private static final List<Box> INCLUDES_LAST_ADJACENT = Arrays.asList(
+            new Box(new Interval(0, 9), new Interval(0, 4)), new Box(new Interval(0, 9), new Interval(5, 9)));
+    private static final List<Box> INCLUDES_CUT = Arrays.asList(
+            new Box(new Interval(0, 4), new Interval(0, 4)), new Box(new Interval(0, 4), new Interval(5, 9)),
+            new Box(new Interval(5, 9), new Interval(0, 9)));
+    private static final List<Box> RESULT_SQUARE = Arrays.asList(new Box(new Interval(0, 9), new Interval(0, 9)));
+
+    private static final List<Box> INCLUDES_BOUNDS = Arrays.asList(
+            new Box(new Interval(Integer.MAX_VALUE - 1, Integer.MAX_VALUE),
+                    new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE + 1)));
+    private static final List<Box> EXCLUDES_BOUNDS = Arrays.asList(
+            new Box(new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                    new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE)));
+    private static final List<Box> RESULT_BOUNDS = Arrays.asList(
+            new Box(new Interval(Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 1),
+                    new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE + 1)),
+            new Box(new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                    new Interval(Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 1)));
+
+    private final BoxHandler handler = new BoxHandler();
+
+
+    @Test
+    public void testBoxSwapsBounds() {
+        Box box = new Box(new int[] {19, 80}, new int[] {10, 443});
+        assertEquals(new Box(new Interval(10, 19), new Interval(80, 443)), box);
+        assertEquals(new Interval(10, 19), box.getSide(0));
+        assertEquals("10-19 x 80-443", box.toString());
+        assertTrue(box.contains(10, 443));
+    }
+
+    @Test
+    public void testHole() {
+        assertEquals(RESULT_HOLE, handler.processBoxes(INCLUDES_HOLE, EXCLUDES_HOLE));
+    }
+
+    @Test
+    public void testOverlappedIncludesAreJoined() {
+        assertEquals(RESULT_OVERLAP, handler.processBoxes(INCLUDES_OVERLAP, Collections.emptyList()));
+    }
+
+    @Test
+    public void testAdjacentIncludesAreJoined() {
+        assertEquals(RESULT_ADJACENT, handler.processBoxes(INCLUDES_ADJACENT, Collections.emptyList()));
+        assertEquals(RESULT_SQUARE, handler.processBoxes(INCLUDES_LAST_ADJACENT, Collections.emptyList()));
+    }
+
+    @Test
+    public void testUnrelatedIncludeDoesNotChangeJoining() {
+        List<Box> includes = new ArrayList<>(INCLUDES_ADJACENT);
+        includes.add(UNRELATED);
+        assertEquals(RESULT_ADJACENT_UNRELATED, handler.processBoxes(includes, Collections.emptyList()));
+    }
+
+    @Test
+    public void testResultDependsOnlyOnPoints() {
+        assertEquals(RESULT_SQUARE, handler.processBoxes(INCLUDES_CUT, Collections.emptyList()));
+        assertEquals(RESULT_SQUARE, handler.processBoxes(INCLUDES_HOLE, Collections.emptyList()));
+    }
+
+    @Test
+    public void testBounds() {
+        assertEquals(RESULT_BOUNDS, handler.processBoxes(INCLUDES_BOUNDS, EXCLUDES_BOUNDS));
+    }
+
+    @Test
+    public void testExcludesOnly() {
+        assertEquals(Collections.emptyList(), handler.processBoxes(Collections.emptyList(), EXCLUDES_HOLE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentDimensions() {
+        handler.processBoxes(INCLUDES_HOLE, Arrays.asList(new Box(new Interval(1, 2))));
+    }
+
+    @Test
+    public void testOneDimensionMatchesHandler() {
+        Random random = new Random(22);
+        IntervalHandler sweep = new IntervalHandlerBySweep();
+        for (int round = 0; round < 200; round++) {
+            List<Interval> includes = TestIntervals.random(random, random.nextInt(50), 0, 1000, 100);
+            List<Interval> excludes = TestIntervals.random(random, random.nextInt(50), 0, 1000, 100);
+            List<Interval> sides = new ArrayList<>();
+            for (Box box : handler.processBoxes(toBoxes(includes), toBoxes(excludes))) {
+                sides.add(box.getSide(0));
+            }
+            assertEquals(sweep.processIntervals(includes, excludes), sides);
+        }
+    }
+
+    @Test
+    public void testThreeDimensionsAgainstPoints() {
+        Random random = new Random(23);
+        for (int round = 0; round < 100; round++) {
+            List<Box> includes = randomBoxes(random, 1 + random.nextInt(8), 3);
+            List<Box> excludes = randomBoxes(random, random.nextInt(8), 3);
+            List<Box> result = handler.processBoxes(includes, excludes);
+            for (int x = -6; x <= 6; x++) {
+                for (int y = -6; y <= 6; y++) {
+                    for (int z = -6; z <= 6; z++) {
+                        int expected = covers(includes, x, y, z) > 0 && covers(excludes, x, y, z) == 0 ? 1 : 0;
+                        // resulting boxes are disjoint
+                        assertEquals(includes + " - " + excludes, expected, covers(result, x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    private static int covers(List<Box> boxes, int... point) {
+        int count = 0;
+        for (Box box : boxes) {
+            if (box.contains(point)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<Box> randomBoxes(Random random, int count, int dimensions) {
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int[] starts = new int[dimensions];
+            int[] ends = new int[dimensions];
+            for (int d = 0; d < dimensions; d++) {
+                starts[d] = random.nextInt(11) - 5;
+                ends[d] = starts[d] + random.nextInt(5);
+            }
+            boxes.add(new Box(starts, ends));
+        }
+        return boxes;
+    }
+
+    private static List<Box> toBoxes(List<Interval> intervals) {
+        List<Box> boxes = new ArrayList<>();
+        for (Interval interval : intervals) {
+            boxes.add(new Box(interval));
+        }
+        return boxes;
+    }
+}
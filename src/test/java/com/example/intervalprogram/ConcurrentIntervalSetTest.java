@@ -0,0 +1,175 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentIntervalSetTest {
+
+    private static final int WRITERS = 2;
+    private static final int READERS = 3;
+    private static final int UPDATES_PER_WRITER = 300;
+
+    private final IntervalHandler sequential = new IntervalHandlerBySweep();
+
+
+    @Test
+    public void testSameAsSequential() {
+        Random random = new Random(16);
+        ConcurrentIntervalSet set = new ConcurrentIntervalSet();
+        List<Interval> expected = new ArrayList<>();
+        for (int round = 0; round < 200; round++) {
+            List<Interval> includes = TestIntervals.random(random, random.nextInt(400), 0, 100_000, 60);
+            List<Interval> excludes = TestIntervals.random(random, random.nextInt(100), 0, 100_000, 30);
+            expected = apply(expected, includes, excludes);
+
+            ConcurrentIntervalSet.Snapshot snapshot = set.update(includes, excludes);
+            assertEquals(expected, snapshot.toList());
+            assertEquals(round + 1, snapshot.getVersion());
+            for (int i = 0; i < 50; i++) {
+                int value = random.nextInt(100_100);
+                assertEquals(sequentialContains(expected, value), snapshot.contains(value));
+            }
+        }
+        assertEquals(201, set.clear().getVersion());
+        assertTrue(set.snapshot().isEmpty());
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void testUpdateCopiesTouchedChunksOnly() {
+        ConcurrentIntervalSet set = new ConcurrentIntervalSet();
+        List<Interval> includes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            includes.add(new Interval(10 * i, 10 * i + 5));
+        }
+        ConcurrentIntervalSet.Snapshot before = set.update(includes, new ArrayList<>());
+        ConcurrentIntervalSet.Snapshot after = set.update(new ArrayList<>(), listOf(new Interval(50_002, 50_003)));
+
+        assertEquals(before.chunkCount(), after.chunkCount());
+        int shared = 0;
+        for (int c = 0; c < after.chunkCount(); c++) {
+            if (before.chunk(c) == after.chunk(c)) {
+                shared++;
+            }
+        }
+        assertEquals(before.chunkCount() - 1, shared);
+        assertTrue(before.contains(50_002));
+        assertFalse(after.contains(50_002));
+        assertSame(after, set.snapshot());
+    }
+
+    /**
+     * Writers publish random updates while readers take snapshots.
+     * Every snapshot must equal the sequential result of the updates published up to its version
+     */
+    @Test
+    public void testLinearizableUnderContention() throws InterruptedException {
+        ConcurrentIntervalSet set = new ConcurrentIntervalSet();
+        Map<Long, List<List<Interval>>> updates = new ConcurrentHashMap<>();
+        List<ConcurrentIntervalSet.Snapshot> observed = new CopyOnWriteArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            long seed = 100 + w;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                await(start);
+                for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                    List<Interval> includes = TestIntervals.random(random, random.nextInt(100), 0, 20_000, 40);
+                    List<Interval> excludes = TestIntervals.random(random, random.nextInt(30), 0, 20_000, 40);
+                    List<List<Interval>> update = new ArrayList<>();
+                    update.add(includes);
+                    update.add(excludes);
+                    updates.put(set.update(includes, excludes).getVersion(), update);
+                }
+            }));
+        }
+        for (int r = 0; r < READERS; r++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                long lastVersion = -1;
+                while (writing.get()) {
+                    ConcurrentIntervalSet.Snapshot snapshot = set.snapshot();
+                    if (snapshot.getVersion() < lastVersion) {
+                        failures.add(new AssertionError("Version went back: " + snapshot.getVersion()));
+                    }
+                    if (snapshot.getVersion() != lastVersion && observed.size() < 2000) {
+                        observed.add(snapshot);
+                    }
+                    lastVersion = snapshot.getVersion();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (int t = 0; t < WRITERS; t++) {
+            threads.get(t).join();
+        }
+        writing.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(WRITERS * UPDATES_PER_WRITER, updates.size());
+        Map<Long, List<Interval>> expected = new ConcurrentHashMap<>();
+        List<Interval> state = new ArrayList<>();
+        expected.put(0L, state);
+        for (long version = 1; version <= updates.size(); version++) {
+            List<List<Interval>> update = updates.get(version);
+            state = apply(state, update.get(0), update.get(1));
+            expected.put(version, state);
+        }
+        for (ConcurrentIntervalSet.Snapshot snapshot : observed) {
+            assertEquals(expected.get(snapshot.getVersion()), snapshot.toList());
+        }
+        assertEquals(state, set.snapshot().toList());
+    }
+
+    private List<Interval> apply(List<Interval> state, List<Interval> includes, List<Interval> excludes) {
+        List<Interval> union = new ArrayList<>(state);
+        union.addAll(includes);
+        return sequential.processIntervals(union, excludes);
+    }
+
+    private static boolean sequentialContains(List<Interval> intervals, int value) {
+        for (Interval interval : intervals) {
+            if (interval.getStart() <= value && value <= interval.getEnd()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Interval> listOf(Interval interval) {
+        List<Interval> intervals = new ArrayList<>();
+        intervals.add(interval);
+        return intervals;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntervalArrayTest {
+
+    private static final List<Interval> INTERVALS = Arrays.asList(new Interval(10, 20), new Interval(-7, 35),
+                                                                  new Interval(40, 50), new Interval(51, 51));
+    private static final List<Interval> INTERVALS_MERGED = Arrays.asList(new Interval(-7, 35), new Interval(40, 50),
+                                                                         new Interval(51, 51));
+    private static final List<Interval> INTERVALS_BOUNDS = Arrays.asList(
+            new Interval(Integer.MIN_VALUE, -1), new Interval(1, Integer.MAX_VALUE));
+
+
+    @Test
+    public void testAdapters() {
+        IntervalArray array = IntervalArray.fromList(INTERVALS);
+        assertEquals(INTERVALS, array.toList());
+        assertEquals(INTERVALS.hashCode(), array.hashCode());
+    }
+
+    @Test
+    public void testAddSwapsBounds() {
+        IntervalArray array = new IntervalArray(0);
+        array.add(100, 2);
+        assertEquals(2, array.getStart(0));
+        assertEquals(100, array.getEnd(0));
+    }
+
+    @Test
+    public void testNormalize() {
+        IntervalArray array = IntervalArray.fromList(INTERVALS);
+        array.sort();
+        assertEquals(1, array.merge());
+        assertEquals(INTERVALS_MERGED, array.toList());
+    }
+
+    @Test
+    public void testSubtractAtIntegerBounds() {
+        IntervalArray includes = new IntervalArray();
+        includes.add(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntervalArray excludes = new IntervalArray();
+        excludes.add(0, 0);
+        assertEquals(INTERVALS_BOUNDS, includes.subtract(excludes).toList());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfSize() {
+        new IntervalArray().getStart(0);
+    }
+}
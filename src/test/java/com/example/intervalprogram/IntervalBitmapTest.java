@@ -0,0 +1,64 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalBitmapTest {
+
+    private static final List<Interval> INCLUDES_WIDE = Arrays.asList(new Interval(-100_000_000, 100_000_000));
+    private static final List<Interval> EXCLUDES_WIDE = Arrays.asList(new Interval(-65537, -65535),
+                                                                      new Interval(65535, 65536));
+    private static final List<Interval> RESULT_WIDE = Arrays.asList(new Interval(-100_000_000, -65538),
+                                                                    new Interval(-65534, 65534),
+                                                                    new Interval(65537, 100_000_000));
+    private static final List<Interval> INCLUDES_BOUNDS = Arrays.asList(new Interval(Integer.MIN_VALUE, -1),
+                                                                        new Interval(0, Integer.MAX_VALUE));
+
+
+    @Test
+    public void testWideRangesAcrossChunks() {
+        IntervalBitmap includes = IntervalBitmap.of(INCLUDES_WIDE);
+        includes.removeAll(IntervalBitmap.of(EXCLUDES_WIDE));
+        assertEquals(RESULT_WIDE, includes.toIntervalArray().toList());
+        assertEquals(200_000_001L - 5, includes.cardinality());
+    }
+
+    @Test
+    public void testAdjacentRangesJoined() {
+        IntervalBitmap bitmap = IntervalBitmap.of(INCLUDES_BOUNDS);
+        assertEquals(Collections.singletonList(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE)),
+                     bitmap.toIntervalArray().toList());
+        assertTrue(bitmap.contains(Integer.MIN_VALUE));
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testManyRunsStoredAsBitmap() {
+        // every second number of one chunk gives more runs than a run container keeps
+        List<Interval> odd = new ArrayList<>();
+        List<Interval> even = new ArrayList<>();
+        for (int i = 0; i < 10_000; i += 2) {
+            even.add(new Interval(i, i));
+            odd.add(new Interval(i + 1, i + 1));
+        }
+        IntervalBitmap bitmap = IntervalBitmap.of(even);
+        bitmap.addRange(0, 9_999);
+        assertEquals(Collections.singletonList(new Interval(0, 9_999)), bitmap.toIntervalArray().toList());
+
+        bitmap.removeAll(IntervalBitmap.of(odd));
+        assertEquals(even, bitmap.toIntervalArray().toList());
+        assertTrue(bitmap.contains(9_998));
+        assertFalse(bitmap.contains(9_999));
+
+        bitmap.removeAll(IntervalBitmap.of(even));
+        assertTrue(bitmap.isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntervalCodecTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(18);
+        for (int round = 0; round < 50; round++) {
+            IntervalArray intervals = TestIntervals.randomArray(random, random.nextInt(2000), -1_000_000, 1_000_000,
+                                                                  500);
+            if (round % 2 == 0) {
+                intervals.normalize();
+            }
+            int blockSize = 1 + random.nextInt(300);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IntervalCodec.encode(intervals, out, blockSize, round % 3 != 0);
+
+            assertEquals(intervals, IntervalCodec.decode(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+
+    @Test
+    public void testExtremeValues() throws IOException {
+        List<Interval> intervals = Arrays.asList(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE),
+                                                 new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE),
+                                                 new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                                                 new Interval(-1, 0));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IntervalCodec.encode(intervals, out);
+
+        assertEquals(intervals, IntervalCodec.decode(new ByteArrayInputStream(out.toByteArray())).toList());
+    }
+
+    @Test
+    public void testNormalizedListIsCompact() {
+        IntervalArray intervals = new IntervalArray();
+        for (int i = 0; i < 100_000; i++) {
+            intervals.add(1_000_000 + 20 * i, 1_000_000 + 20 * i + 9);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        IntervalCodec.encode(intervals, buffer);
+
+        // a gap and a length of one byte each plus the block and the index overhead
+        assertTrue("bytes: " + buffer.position(), buffer.position() < 2.1 * intervals.size());
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException {
+        IntervalArray intervals = TestIntervals.randomArray(new Random(19), 1000, -1_000_000, 1_000_000, 500);
+        intervals.normalize();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        buffer.put((byte) 7);
+        IntervalCodec.encode(intervals, buffer);
+        int end = buffer.position();
+        buffer.putInt(42);
+        buffer.flip();
+        buffer.get();
+
+        assertEquals(intervals, IntervalCodec.decode(buffer));
+        assertEquals(end, buffer.position());
+        assertEquals(42, buffer.getInt());
+    }
+
+    @Test
+    public void testDecodeFrom() throws IOException {
+        Random random = new Random(20);
+        IntervalArray intervals = TestIntervals.randomArray(random, 5000, -1_000_000, 1_000_000, 500);
+        intervals.normalize();
+        for (boolean indexed : new boolean[] {true, false}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IntervalCodec.encode(intervals, out, 64, indexed);
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            for (int round = 0; round < 100; round++) {
+                int value = random.nextInt(2_200_000) - 1_100_000;
+                IntervalArray expected = new IntervalArray();
+                for (int i = 0; i < intervals.size(); i++) {
+                    if (intervals.getEnd(i) >= value) {
+                        expected.add(intervals.getStart(i), intervals.getEnd(i));
+                    }
+                }
+                assertEquals(expected, IntervalCodec.decodeFrom(buffer, value));
+            }
+            assertEquals(0, buffer.position());
+        }
+    }
+
+    @Test
+    public void testCorruptionIsDetected() throws IOException {
+        IntervalArray intervals = TestIntervals.randomArray(new Random(21), 500, -1_000_000, 1_000_000, 500);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IntervalCodec.encode(intervals, out, 32, true);
+        byte[] bytes = out.toByteArray();
+        for (int i = 0; i < bytes.length; i += 7) {
+            byte[] corrupted = bytes.clone();
+            corrupted[i] ^= 0x10;
+            try {
+                IntervalCodec.decode(new ByteArrayInputStream(corrupted));
+                fail("Corruption at " + i + " is not detected");
+            } catch (IOException expected) {
+                // corrupted header, varints or checksum
+            }
+        }
+        try {
+            IntervalCodec.decode(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+            fail("Truncation is not detected");
+        } catch (IOException expected) {
+            // end of stream
+        }
+    }
+
+    @Test
+    public void testZigZag() {
+        for (long value : new long[] {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 40}) {
+            assertEquals(value, IntervalCodec.unZigZag(IntervalCodec.zigZag(value)));
+        }
+        assertEquals(1, IntervalCodec.zigZag(-1));
+        assertEquals(2, IntervalCodec.zigZag(1));
+    }
+}
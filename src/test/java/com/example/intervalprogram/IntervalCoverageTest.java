@@ -0,0 +1,124 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalCoverageTest {
+
+    private static final List<Interval> INCLUDES_NORMAL = Arrays.asList(new Interval(0, 9), new Interval(9, 0),
+                                                                        new Interval(5, 14));
+    private static final List<Interval> EXCLUDES_NORMAL = Arrays.asList(new Interval(3, 6));
+
+    private static final List<Interval> INCLUDES_BOUNDS = Arrays.asList(
+            new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE), new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    private static final List<Interval> EXCLUDES_BOUNDS = Arrays.asList(
+            new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+
+    @Test
+    public void testDepths() {
+        IntervalCoverage coverage = IntervalCoverage.of(Arrays.asList(new Interval(10, 19), new Interval(15, 29)),
+                                                        Collections.emptyList());
+        assertEquals("10-14:1, 15-19:2, 20-29:1", coverage.toString());
+        assertEquals(2, coverage.getMaxDepth());
+    }
+
+    @Test
+    public void testExcludes() {
+        IntervalCoverage coverage = IntervalCoverage.of(INCLUDES_NORMAL, EXCLUDES_NORMAL);
+        assertEquals("0-2:2, 7-9:3, 10-14:1", coverage.toString());
+        assertEquals(3, coverage.size());
+        assertEquals(7, coverage.getStart(1));
+        assertEquals(9, coverage.getEnd(1));
+        assertEquals(3, coverage.getDepth(1));
+        assertEquals(3, coverage.getMaxDepth());
+    }
+
+    @Test
+    public void testDepthAt() {
+        IntervalCoverage coverage = IntervalCoverage.of(INCLUDES_NORMAL, EXCLUDES_NORMAL);
+        assertEquals(2, coverage.depthAt(0));
+        assertEquals(0, coverage.depthAt(4));
+        assertEquals(3, coverage.depthAt(8));
+        assertEquals(1, coverage.depthAt(14));
+        assertEquals(0, coverage.depthAt(15));
+        assertEquals(0, coverage.depthAt(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testAtLeast() {
+        IntervalCoverage coverage = IntervalCoverage.of(INCLUDES_NORMAL, EXCLUDES_NORMAL);
+        assertEquals(Arrays.asList(new Interval(0, 2), new Interval(7, 14)), coverage.atLeast(1).toList());
+        assertEquals(Arrays.asList(new Interval(0, 2), new Interval(7, 9)), coverage.atLeast(2).toList());
+        assertEquals(Collections.emptyList(), coverage.atLeast(4).toList());
+        assertEquals(11, coverage.countAtLeast(1));
+        assertEquals(3, coverage.countAtLeast(3));
+    }
+
+    @Test
+    public void testAdjacentIncludesAreJoined() {
+        IntervalCoverage coverage = IntervalCoverage.of(Arrays.asList(new Interval(5, 9), new Interval(0, 4)),
+                                                        Collections.emptyList());
+        assertEquals("0-9:1", coverage.toString());
+    }
+
+    @Test
+    public void testBounds() {
+        IntervalCoverage coverage = IntervalCoverage.of(INCLUDES_BOUNDS, EXCLUDES_BOUNDS);
+        assertEquals(Integer.MIN_VALUE + "-" + (Integer.MAX_VALUE - 1) + ":2", coverage.toString());
+        assertEquals(0xFFFFFFFFL, coverage.countAtLeast(2));
+    }
+
+    @Test
+    public void testEmpty() {
+        IntervalCoverage coverage = IntervalCoverage.of(Collections.emptyList(), EXCLUDES_NORMAL);
+        assertTrue(coverage.isEmpty());
+        assertEquals(0, coverage.getMaxDepth());
+        assertTrue(coverage.atLeast(1).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdMustBePositive() {
+        IntervalCoverage.of(INCLUDES_NORMAL, EXCLUDES_NORMAL).atLeast(0);
+    }
+
+    @Test
+    public void testRandomAgainstPoints() {
+        Random random = new Random(23);
+        for (int round = 0; round < 300; round++) {
+            List<Interval> includes = TestIntervals.random(random, random.nextInt(20), -30, 60, 20);
+            List<Interval> excludes = TestIntervals.random(random, random.nextInt(5), -30, 60, 10);
+            IntervalCoverage coverage = IntervalCoverage.of(includes, excludes);
+            for (int value = -40; value <= 40; value++) {
+                int expected = 0;
+                for (Interval include : includes) {
+                    if (include.getStart() <= value && value <= include.getEnd()) {
+                        expected++;
+                    }
+                }
+                for (Interval exclude : excludes) {
+                    if (exclude.getStart() <= value && value <= exclude.getEnd()) {
+                        expected = 0;
+                    }
+                }
+                assertEquals(coverage.toString(), expected, coverage.depthAt(value));
+            }
+        }
+    }
+
+    @Test
+    public void testContainerMatchesExpression() {
+        Random random = new Random(230);
+        IntervalArray includes = TestIntervals.randomArray(random, 500_000, -10_000_000, 10_000_000, 100);
+        IntervalArray excludes = TestIntervals.randomArray(random, 100_000, -10_000_000, 10_000_000, 10);
+        IntervalArray expected = IntervalExpression.of(includes).subtract(IntervalExpression.of(excludes)).evaluate();
+        assertEquals(expected, IntervalCoverage.of(includes, excludes).atLeast(1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntervalExpressionTest {
+
+    private static final List<Interval> A = Arrays.asList(new Interval(0, 10), new Interval(20, 30));
+    private static final List<Interval> B = Arrays.asList(new Interval(5, 25), new Interval(31, 31));
+    private static final List<Interval> RESULT_UNION = Arrays.asList(new Interval(0, 31));
+    private static final List<Interval> RESULT_INTERSECTION = Arrays.asList(new Interval(5, 10),
+                                                                            new Interval(20, 25));
+    private static final List<Interval> RESULT_SYMMETRIC = Arrays.asList(new Interval(0, 4), new Interval(11, 19),
+                                                                         new Interval(26, 31));
+
+    private static final int RANGE = 200;
+
+
+    @Test
+    public void testBinaryOperators() {
+        IntervalExpression a = IntervalExpression.of(A);
+        IntervalExpression b = IntervalExpression.of(B);
+        assertEquals(RESULT_UNION, a.union(b).toList());
+        assertEquals(RESULT_INTERSECTION, a.intersect(b).toList());
+        assertEquals(RESULT_SYMMETRIC, a.symmetricDifference(b).toList());
+        assertEquals(new IntervalHandlerByBitmap().processIntervals(A, B), a.subtract(b).toList());
+    }
+
+    @Test
+    public void testCompositeSameAsPointwise() {
+        Random random = new Random(5);
+        for (int round = 0; round < 50; round++) {
+            List<Interval> a = TestIntervals.random(random, random.nextInt(8), 0, RANGE, 20);
+            List<Interval> b = TestIntervals.random(random, random.nextInt(8), 0, RANGE, 20);
+            List<Interval> c = TestIntervals.random(random, random.nextInt(8), 0, RANGE, 20);
+            List<Interval> d = TestIntervals.random(random, random.nextInt(8), 0, RANGE, 20);
+            IntervalExpression expressionA = IntervalExpression.of(a);
+            // (A ∪ B) ∖ (C ∩ D) ∆ A
+            IntervalExpression expression = expressionA.union(IntervalExpression.of(b))
+                    .subtract(IntervalExpression.of(c).intersect(IntervalExpression.of(d)))
+                    .symmetricDifference(expressionA);
+
+            IntPredicate expected = x -> ((contains(a, x) || contains(b, x)) && !(contains(c, x) && contains(d, x)))
+                    ^ contains(a, x);
+            assertEquals(expression.toString(), pointwise(expected), expression.toList());
+        }
+    }
+
+    @Test
+    public void testIntegerBounds() {
+        IntervalExpression all = IntervalExpression.of(Arrays.asList(new Interval(Integer.MIN_VALUE,
+                                                                                  Integer.MAX_VALUE)));
+        IntervalExpression max = IntervalExpression.of(Arrays.asList(new Interval(Integer.MAX_VALUE,
+                                                                                  Integer.MAX_VALUE)));
+        assertEquals(Arrays.asList(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE - 1)),
+                     all.subtract(max).toList());
+        assertEquals(Arrays.asList(new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE)), all.intersect(max).toList());
+    }
+
+    private static boolean contains(List<Interval> intervals, int value) {
+        return intervals.stream().anyMatch(i -> i.getStart() <= value && value <= i.getEnd());
+    }
+
+    private static List<Interval> pointwise(IntPredicate predicate) {
+        IntervalArray result = new IntervalArray();
+        for (int x = -1; x <= RANGE + 20; x++) {
+            if (predicate.test(x)) {
+                if (!result.isEmpty() && result.getEnd(result.size() - 1) == x - 1) {
+                    result.data[result.size() - 1] = IntervalArray.pack(result.getStart(result.size() - 1), x);
+                } else {
+                    result.add(x, x);
+                }
+            }
+        }
+        return result.toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.intervalprogram;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntervalFilesTest {
+
+    private static final String INCLUDES = "10-100, 200-300, -2147483648--5, 400-500";
+    private static final String EXCLUDES = "95-205, 410-420, -10-0";
+    private static final String RESULT = "-2147483648--11, 10-94, 206-300, 400-409, 421-500";
+
+    private static final List<Interval> INTERVALS = Arrays.asList(new Interval(Integer.MIN_VALUE, -1),
+                                                                  new Interval(7, Integer.MAX_VALUE));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+
+    @Test
+    public void testProcessText() throws IOException {
+        Path includes = write("includes.txt", INCLUDES);
+        Path excludes = write("excludes.txt", EXCLUDES);
+        Path output = folder.getRoot().toPath().resolve("output.txt");
+
+        IntervalFiles.process(new IntervalHandlerBySweep(), includes, excludes, output, IntervalFiles.Format.TEXT);
+        assertEquals(RESULT, new String(Files.readAllBytes(output), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("intervals.bin");
+        IntervalFiles.writeBinary(path, IntervalArray.fromList(INTERVALS));
+        assertEquals(2 * Long.BYTES, Files.size(path));
+        assertEquals(INTERVALS, IntervalFiles.readBinary(path).toList());
+    }
+
+    @Test(expected = IOException.class)
+    public void testBinaryMalformed() throws IOException {
+        IntervalFiles.readBinary(write("malformed.bin", "123"));
+    }
+
+    private Path write(String name, String text) throws IOException {
+        return Files.write(folder.getRoot().toPath().resolve(name), text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntervalFormatterTest {
+
+    private final IntervalFormatter formatter = new IntervalFormatter();
+
+
+    @Test
+    public void testSameAsToString() throws IOException {
+        List<Interval> intervals = randomIntervals(new Random(19), 2000);
+        intervals.add(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        intervals.add(new Interval(0, 0));
+        intervals.add(new Interval(-10, -1));
+        String expected = intervals.stream().map(Interval::toString).collect(Collectors.joining(", "));
+
+        StringBuilder builder = new StringBuilder();
+        formatter.format(intervals, builder);
+        assertEquals(expected, builder.toString());
+
+        builder.setLength(0);
+        formatter.format(IntervalArray.fromList(intervals), builder);
+        assertEquals(expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        formatter.format(intervals, writer);
+        assertEquals(expected, writer.toString());
+
+        StringBuffer buffer = new StringBuffer();
+        formatter.format(IntervalArray.fromList(intervals), buffer);
+        assertEquals(expected, buffer.toString());
+    }
+
+    @Test
+    public void testByteBufferContinues() {
+        List<Interval> intervals = randomIntervals(new Random(20), 500);
+        IntervalArray array = IntervalArray.fromList(intervals);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IntervalFormatter.MAX_INTERVAL_CHARS + 3);
+        StringBuilder text = new StringBuilder();
+        int next = 0;
+        do {
+            next = formatter.format(array, next, buffer);
+            buffer.flip();
+            text.append(StandardCharsets.US_ASCII.decode(buffer));
+            buffer.clear();
+        } while (next < array.size());
+
+        assertEquals(new IntervalHandlerBySweep().formatOutput(intervals), text.toString());
+    }
+
+    @Test
+    public void testEmpty() {
+        StringBuilder builder = new StringBuilder();
+        formatter.format(Collections.emptyList(), builder);
+        assertEquals("", builder.toString());
+        assertEquals(0, formatter.format(new IntervalArray(), 0, ByteBuffer.allocate(0)));
+        assertEquals("1-2", new IntervalHandlerBySweep().formatOutput(Arrays.asList(new Interval(1, 2))));
+    }
+
+    /**
+     * @return intervals of long numbers followed by intervals of short ones
+     */
+    private static List<Interval> randomIntervals(Random random, int count) {
+        List<Interval> intervals = TestIntervals.random(random, count / 2, -1_000_000_000, 1_000_000_000, 100_000_000);
+        intervals.addAll(TestIntervals.random(random, count - count / 2, -1000, 1000, 100));
+        return intervals;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.intervalprogram;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class IntervalHandlerAdaptiveTest {
+
+    private static final List<Interval> INCLUDES_WIDE = Arrays.asList(new Interval(0, 100_000_000));
+    private static final List<Interval> EXCLUDES_WIDE = Arrays.asList(new Interval(50, 60_000_000));
+
+    private final ForkJoinPool sequentialPool = new ForkJoinPool(1);
+    private final ForkJoinPool parallelPool = new ForkJoinPool(16);
+
+
+    @After
+    public void tearDown() {
+        sequentialPool.shutdown();
+        parallelPool.shutdown();
+    }
+
+    @Test
+    public void testFewIntervalsAreSwept() {
+        // wide intervals cost the same as narrow ones
+        IntervalHandlerAdaptive handler = new IntervalHandlerAdaptive(parallelPool);
+        IntervalHandlerAdaptive.Decision decision = handler.choose(INCLUDES_WIDE, EXCLUDES_WIDE);
+        assertEquals(IntervalHandlerAdaptive.Engine.SWEEP, decision.getEngine());
+        assertEquals(1, decision.getIncludeCount());
+        assertEquals(1, decision.getExcludeCount());
+
+        List<Interval> includes = manyIntervals().subList(0, IntervalHandlerByForkJoin.DEFAULT_THRESHOLD - 1);
+        assertEquals(IntervalHandlerAdaptive.Engine.SWEEP, handler.choose(includes, EXCLUDES_WIDE).getEngine());
+    }
+
+    @Test
+    public void testManyIntervals() {
+        List<Interval> includes = manyIntervals();
+        IntervalHandlerAdaptive sequential = new IntervalHandlerAdaptive(sequentialPool);
+        IntervalHandlerAdaptive parallel = new IntervalHandlerAdaptive(parallelPool);
+
+        assertEquals(IntervalHandlerAdaptive.Engine.SWEEP, sequential.choose(includes, includes).getEngine());
+        assertEquals(IntervalHandlerAdaptive.Engine.FORK_JOIN, parallel.choose(includes, includes).getEngine());
+    }
+
+    @Test
+    public void testEveryEngineIsSelected() {
+        Set<IntervalHandlerAdaptive.Engine> selected = EnumSet.noneOf(IntervalHandlerAdaptive.Engine.class);
+        for (ForkJoinPool pool : Arrays.asList(sequentialPool, parallelPool)) {
+            IntervalHandlerAdaptive handler = new IntervalHandlerAdaptive(pool);
+            selected.add(handler.choose(INCLUDES_WIDE, EXCLUDES_WIDE).getEngine());
+            selected.add(handler.choose(manyIntervals(), INCLUDES_WIDE).getEngine());
+        }
+        assertEquals(EnumSet.allOf(IntervalHandlerAdaptive.Engine.class), selected);
+    }
+
+    @Test
+    public void testResultDoesNotDependOnEngine() {
+        // adjacent intervals are kept apart by every engine
+        List<Interval> includes = manyIntervals();
+        includes.add(new Interval(1_000_006, 1_000_009));
+        List<Interval> expected = new IntervalHandlerBySweep().processIntervals(includes, EXCLUDES_WIDE);
+        for (ForkJoinPool pool : Arrays.asList(sequentialPool, parallelPool)) {
+            IntervalHandlerAdaptive handler = new IntervalHandlerAdaptive(pool);
+            assertEquals(handler.choose(includes, EXCLUDES_WIDE).getEngine().toString(), expected,
+                         handler.processIntervals(includes, EXCLUDES_WIDE));
+        }
+    }
+
+    @Test
+    public void testDecisionIsObservable() {
+        IntervalHandlerAdaptive handler = new IntervalHandlerAdaptive();
+        List<IntervalHandlerAdaptive.Decision> decisions = new ArrayList<>();
+        handler.setDecisionListener(decisions::add);
+
+        handler.processIntervals(INCLUDES_WIDE, Collections.emptyList());
+        assertEquals(1, decisions.size());
+        assertSame(decisions.get(0), handler.getLastDecision());
+        assertEquals(1, handler.getDecisionCount(decisions.get(0).getEngine()));
+    }
+
+    /**
+     * @return 100 000 intervals 0-5, 10-15, ..., the last one is 999990-999995
+     */
+    private static List<Interval> manyIntervals() {
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            intervals.add(new Interval(i * 10, i * 10 + 5));
+        }
+        return intervals;
+    }
+}
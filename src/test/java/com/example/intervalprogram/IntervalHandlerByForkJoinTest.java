@@ -0,0 +1,76 @@
+package com.example.intervalprogram;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class IntervalHandlerByForkJoinTest {
+
+    private static final int COUNT = 200_000;
+
+    private final IntervalHandler sequential = new IntervalHandlerBySweep();
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSameAsSequential() {
+        Random random = new Random(11);
+        IntervalArray includes = TestIntervals.randomArray(random, COUNT, 0, COUNT * 50, 1000);
+        IntervalArray excludes = TestIntervals.randomArray(random, COUNT / 5, 0, COUNT * 10, 300);
+        IntervalArray expected = sequential.processIntervals(includes, excludes);
+
+        try (IntervalHandlerByForkJoin handler = new IntervalHandlerByForkJoin(8)) {
+            assertEquals(expected, handler.processIntervals(includes, excludes));
+        }
+        assertEquals(expected, new IntervalHandlerByForkJoin(pool, 100).processIntervals(includes, excludes));
+    }
+
+    @Test
+    public void testReversedIntervalsAreSortedInChunks() {
+        // 12 chunks of uneven sizes with repeated intervals
+        IntervalArray includes = new IntervalArray();
+        for (int i = 1000; i >= 0; i--) {
+            includes.add(i / 3 * 4, i / 3 * 4 + 1);
+        }
+        IntervalArray excludes = TestIntervals.randomArray(new Random(14), 100, 0, 1400, 3);
+        IntervalHandler handler = new IntervalHandlerByForkJoin(pool, 1);
+
+        assertEquals(sequential.processIntervals(includes, excludes), handler.processIntervals(includes, excludes));
+    }
+
+    @Test
+    public void testLongIntervalAbsorbsChunks() {
+        Random random = new Random(12);
+        IntervalArray includes = TestIntervals.randomArray(random, COUNT, 0, COUNT * 50, 10);
+        includes.add(-5, Integer.MAX_VALUE - 1);
+        IntervalArray excludes = TestIntervals.randomArray(random, 10, 0, 500, 10);
+        IntervalHandler handler = new IntervalHandlerByForkJoin(pool, 16);
+
+        assertEquals(sequential.processIntervals(includes, excludes), handler.processIntervals(includes, excludes));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testCloseShutsDownOwnPool() {
+        IntervalHandlerByForkJoin handler = new IntervalHandlerByForkJoin(2);
+        handler.close();
+        IntervalArray includes = TestIntervals.randomArray(new Random(13), COUNT, 0, COUNT * 50, 10);
+        handler.processIntervals(includes, new IntervalArray());
+    }
+
+    @Test
+    public void testCloseKeepsGivenPool() {
+        new IntervalHandlerByForkJoin(pool).close();
+        assertFalse(pool.isShutdown());
+    }
+}
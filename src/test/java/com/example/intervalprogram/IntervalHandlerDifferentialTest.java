@@ -0,0 +1,643 @@
+package com.example.intervalprogram;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Cross-checks every handler and engine against an independent oracle on random adversarial workloads.
+ * Handlers differ in joining adjacent intervals, so results are compared as sets of integers:
+ * a result must be ordered and non overlapped, then its adjacent intervals are joined.
+ * The run is time-boxed and reproducible: {@code -Ddifferential.seed=...} selects the workloads,
+ * {@code -Ddifferential.millis=...} the duration. A failing case is shrunk before it is reported
+ */
+public class IntervalHandlerDifferentialTest {
+
+    private static final long SEED = Long.getLong("differential.seed", 20211);
+    private static final long MILLIS = Long.getLong("differential.millis", 3000);
+    // cheap workloads run more often, one pass over the schedule is always made
+    private static final Workload[] SCHEDULE = Workload.schedule();
+    private static final int MAX_SHRINK_ATTEMPTS = 20_000;
+
+    // handlers expanding every integer are run on narrow inputs only
+    private static final long MAX_POINTWISE_WIDTH = 200_000;
+    // the direct search interacts every include with every exclude
+    private static final long MAX_QUADRATIC_PAIRS = 2_000_000;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+
+    @AfterClass
+    public static void tearDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void testAgainstOracle() {
+        List<Candidate> candidates = candidates();
+        Random random = new Random(SEED);
+        long deadline = System.currentTimeMillis() + MILLIS;
+        for (int round = 0; round < SCHEDULE.length || System.currentTimeMillis() < deadline; round++) {
+            Workload workload = SCHEDULE[round % SCHEDULE.length];
+            long caseSeed = random.nextLong();
+            Case generated = workload.generate(new Random(caseSeed));
+            for (Candidate candidate : candidates) {
+                if (!candidate.accepts(generated)) {
+                    continue;
+                }
+                String error = check(candidate, generated);
+                if (error != null) {
+                    Case minimal = shrink(candidate, generated);
+                    fail(candidate.name + " fails on " + workload + " (seed " + SEED + ", round " + round
+                                 + ", case seed " + caseSeed + "): " + check(candidate, minimal)
+                                 + System.lineSeparator() + "minimal case: " + minimal);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOracleAgainstPoints() {
+        Random random = new Random(SEED);
+        for (int round = 0; round < 500; round++) {
+            Case generated = Workload.SMALL.generate(random);
+            List<Interval> expected = new ArrayList<>();
+            for (int value = -40; value <= 40; value++) {
+                if (containsPoint(generated.includes, value) && !containsPoint(generated.excludes, value)) {
+                    appendPoint(expected, value);
+                }
+            }
+            assertEquals(generated.toString(), expected, oracle(generated.includes, generated.excludes));
+        }
+    }
+
+    @Test
+    public void testShrinkFindsMinimalCase() {
+        // a broken engine losing a single point include
+        Candidate broken = new Candidate("broken", (includes, excludes) -> {
+            List<Interval> result = new IntervalHandlerBySweep().processIntervals(includes, excludes);
+            result.removeIf(interval -> interval.getStart() == interval.getEnd());
+            return result;
+        }, false, false);
+        Case generated = new Case(Arrays.asList(new Interval(1, 10), new Interval(20, 20), new Interval(30, 40)),
+                                  Arrays.asList(new Interval(5, 6), new Interval(35, 50)));
+
+        Case minimal = shrink(broken, generated);
+        assertEquals(1, minimal.includes.size());
+        assertEquals(0, minimal.excludes.size());
+        assertEquals(minimal.includes.get(0).getStart(), minimal.includes.get(0).getEnd());
+    }
+
+    private static List<Candidate> candidates() {
+        List<Candidate> candidates = new ArrayList<>();
+        candidates.add(new Candidate("IntervalHandlerByDirectSearch", new IntervalHandlerByDirectSearch(), false, true));
+        candidates.add(new Candidate("IntervalHandlerBySet", new IntervalHandlerBySet(), true, false));
+        candidates.add(new Candidate("IntervalHandlerBySweep", new IntervalHandlerBySweep(), false, false));
+        candidates.add(new Candidate("IntervalHandlerByBitmap", new IntervalHandlerByBitmap(), false, false));
+        candidates.add(new Candidate("IntervalHandlerByForkJoin",
+                                     new IntervalHandlerByForkJoin(POOL, 16), false, false));
+        candidates.add(new Candidate("IntervalHandlerWithCache",
+                                     new IntervalHandlerWithCache(new IntervalHandlerBySweep(), 1_000_000), false, false));
+        candidates.add(new Candidate("IntervalHandlerAdaptive", new IntervalHandlerAdaptive(), false, false));
+        candidates.add(new Candidate("IntervalHandlerByBitmap (packed)", (includes, excludes) ->
+                new IntervalHandlerByBitmap().processIntervals(IntervalArray.fromList(includes),
+                                                               IntervalArray.fromList(excludes)).toList(), false, false));
+        candidates.add(new Candidate("PreparedIntervals", (includes, excludes) ->
+                PreparedIntervals.of(includes).subtract(excludes), false, false));
+        candidates.add(new Candidate("IntervalExpression", (includes, excludes) ->
+                IntervalExpression.of(includes).subtract(IntervalExpression.of(excludes)).toList(), false, false));
+        candidates.add(new Candidate("IntervalCoverage", (includes, excludes) ->
+                IntervalCoverage.of(includes, excludes).atLeast(1).toList(), false, false));
+        candidates.add(new Candidate("IntervalStreams", (includes, excludes) ->
+                collect(IntervalStreams.complement(sorted(includes).iterator(), sorted(excludes).iterator())),
+                                     false, false));
+        candidates.add(new Candidate("IntervalSet", (includes, excludes) -> {
+            IntervalSet set = new IntervalSet(includes);
+            for (Interval exclude : excludes) {
+                set.subtract(exclude);
+            }
+            return set.toList();
+        }, false, false));
+        candidates.add(new Candidate("ConcurrentIntervalSet", (includes, excludes) ->
+                new ConcurrentIntervalSet().update(includes, excludes).toList(), false, false));
+        candidates.add(new Candidate("LongIntervalHandler", (includes, excludes) -> {
+            List<Interval> result = new ArrayList<>();
+            for (LongInterval interval : new LongIntervalHandler().processIntervals(toLong(includes), toLong(excludes))) {
+                result.add(new Interval((int) interval.getStart(), (int) interval.getEnd()));
+            }
+            return result;
+        }, false, false));
+        return candidates;
+    }
+
+    /**
+     * @return description of the mismatch or null if the candidate gives the right result
+     */
+    private static String check(Candidate candidate, Case generated) {
+        List<Interval> actual;
+        try {
+            actual = candidate.engine.process(new ArrayList<>(generated.includes), new ArrayList<>(generated.excludes));
+        } catch (RuntimeException | Error e) {
+            return "throws " + e;
+        }
+        for (int i = 1; i < actual.size(); i++) {
+            if (actual.get(i).getStart() <= actual.get(i - 1).getEnd()) {
+                return "result is not ordered and disjoint: " + actual;
+            }
+        }
+        List<Interval> expected = oracle(generated.includes, generated.excludes);
+        List<Interval> joined = join(actual);
+        return expected.equals(joined) ? null : "expected " + expected + " but was " + actual;
+    }
+
+    /**
+     * Numbers of the result are found by counting how many includes and excludes cover them:
+     * each interval adds one at its start and removes one after its end
+     *
+     * @return ordered disjoint non adjacent intervals of numbers covered by an include and not by an exclude
+     */
+    static List<Interval> oracle(List<Interval> includes, List<Interval> excludes) {
+        long[] inStarts = bounds(includes, true);
+        long[] inAfterEnds = bounds(includes, false);
+        long[] exStarts = bounds(excludes, true);
+        long[] exAfterEnds = bounds(excludes, false);
+        long[] positions = new long[2 * (includes.size() + excludes.size())];
+        int count = 0;
+        for (long[] bounds : new long[][] {inStarts, inAfterEnds, exStarts, exAfterEnds}) {
+            System.arraycopy(bounds, 0, positions, count, bounds.length);
+            count += bounds.length;
+        }
+        Arrays.sort(positions);
+
+        List<Interval> result = new ArrayList<>();
+        int[] cursors = new int[4];
+        int includeDepth = 0;
+        int excludeDepth = 0;
+        boolean inside = false;
+        long runStart = 0;
+        for (int i = 0; i < count; i++) {
+            long position = positions[i];
+            if (i > 0 && position == positions[i - 1]) {
+                continue;
+            }
+            includeDepth += advance(inStarts, cursors, 0, position) - advance(inAfterEnds, cursors, 1, position);
+            excludeDepth += advance(exStarts, cursors, 2, position) - advance(exAfterEnds, cursors, 3, position);
+            boolean now = includeDepth > 0 && excludeDepth == 0;
+            if (now && !inside) {
+                runStart = position;
+            } else if (!now && inside) {
+                result.add(new Interval((int) runStart, (int) (position - 1)));
+            }
+            inside = now;
+        }
+        return result;
+    }
+
+    /**
+     * @return sorted starts or numbers following ends
+     */
+    private static long[] bounds(List<Interval> intervals, boolean starts) {
+        long[] bounds = new long[intervals.size()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = starts ? intervals.get(i).getStart() : intervals.get(i).getEnd() + 1L;
+        }
+        Arrays.sort(bounds);
+        return bounds;
+    }
+
+    /**
+     * @return number of bounds at a position
+     */
+    private static int advance(long[] bounds, int[] cursors, int cursor, long position) {
+        int passed = 0;
+        while (cursors[cursor] < bounds.length && bounds[cursors[cursor]] == position) {
+            cursors[cursor]++;
+            passed++;
+        }
+        return passed;
+    }
+
+    /**
+     * Joins adjacent intervals of an ordered disjoint list
+     */
+    private static List<Interval> join(List<Interval> intervals) {
+        List<Interval> joined = new ArrayList<>();
+        for (Interval interval : intervals) {
+            int last = joined.size() - 1;
+            if (last >= 0 && joined.get(last).getEnd() + 1L == interval.getStart()) {
+                joined.set(last, new Interval(joined.get(last).getStart(), interval.getEnd()));
+            } else {
+                joined.add(interval);
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Removes intervals and simplifies bounds while the candidate keeps failing
+     */
+    private static Case shrink(Candidate candidate, Case failing) {
+        int[] attempts = {0};
+        boolean progress = true;
+        while (progress && attempts[0] < MAX_SHRINK_ATTEMPTS) {
+            progress = false;
+            Case compressed = failing.compressed();
+            if (!compressed.equals(failing) && fails(candidate, compressed, attempts)) {
+                failing = compressed;
+                progress = true;
+            }
+            for (long offset = towardZero(failing); offset != 0; offset /= 2) {
+                Case shifted = failing.shifted((int) offset);
+                if (fails(candidate, shifted, attempts)) {
+                    failing = shifted;
+                    progress = true;
+                    break;
+                }
+            }
+            for (boolean includes : new boolean[] {true, false}) {
+                for (int chunk = Math.max(1, failing.list(includes).size() / 2); chunk >= 1; chunk /= 2) {
+                    for (int from = 0; from < failing.list(includes).size(); ) {
+                        List<Interval> reduced = new ArrayList<>(failing.list(includes));
+                        reduced.subList(from, Math.min(reduced.size(), from + chunk)).clear();
+                        Case smaller = failing.with(includes, reduced);
+                        if (fails(candidate, smaller, attempts)) {
+                            failing = smaller;
+                            progress = true;
+                        } else {
+                            from += chunk;
+                        }
+                    }
+                }
+            }
+            for (boolean includes : new boolean[] {true, false}) {
+                for (int i = 0; i < failing.list(includes).size(); i++) {
+                    for (Interval simpler : simplify(failing.list(includes).get(i))) {
+                        List<Interval> changed = new ArrayList<>(failing.list(includes));
+                        changed.set(i, simpler);
+                        Case smaller = failing.with(includes, changed);
+                        if (fails(candidate, smaller, attempts)) {
+                            failing = smaller;
+                            progress = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return failing;
+    }
+
+    private static boolean fails(Candidate candidate, Case generated, int[] attempts) {
+        attempts[0]++;
+        return attempts[0] <= MAX_SHRINK_ATTEMPTS && candidate.accepts(generated) && check(candidate, generated) != null;
+    }
+
+    /**
+     * @return the largest shift moving all the numbers of a case toward zero without crossing it
+     */
+    private static long towardZero(Case generated) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (boolean includes : new boolean[] {true, false}) {
+            for (Interval interval : generated.list(includes)) {
+                min = Math.min(min, interval.getStart());
+                max = Math.max(max, interval.getEnd());
+            }
+        }
+        if (min > 0 && min != Long.MAX_VALUE) {
+            return -min;
+        }
+        return max < 0 && max != Long.MIN_VALUE ? -max : 0;
+    }
+
+    /**
+     * @return intervals closer to zero or narrower than the given one
+     */
+    private static List<Interval> simplify(Interval interval) {
+        int start = interval.getStart();
+        int end = interval.getEnd();
+        List<Interval> simpler = new ArrayList<>();
+        if (start != end) {
+            simpler.add(new Interval(start, start));
+            simpler.add(new Interval(end, end));
+            simpler.add(new Interval(start, end - 1));
+            simpler.add(new Interval(start + 1, end));
+        }
+        if (start / 2 != start || end / 2 != end) {
+            simpler.add(new Interval(start / 2, end / 2));
+        }
+        if (start > 0) {
+            simpler.add(new Interval(start - 1, end - 1));
+        } else if (end < 0) {
+            simpler.add(new Interval(start + 1, end + 1));
+        }
+        return simpler;
+    }
+
+    private static boolean containsPoint(List<Interval> intervals, int value) {
+        for (Interval interval : intervals) {
+            if (interval.getStart() <= value && value <= interval.getEnd()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendPoint(List<Interval> intervals, int value) {
+        int last = intervals.size() - 1;
+        if (last >= 0 && intervals.get(last).getEnd() == value - 1) {
+            intervals.set(last, new Interval(intervals.get(last).getStart(), value));
+        } else {
+            intervals.add(new Interval(value, value));
+        }
+    }
+
+    private static List<Interval> sorted(List<Interval> intervals) {
+        List<Interval> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingInt(Interval::getStart));
+        return sorted;
+    }
+
+    private static List<Interval> collect(java.util.Iterator<Interval> iterator) {
+        List<Interval> intervals = new ArrayList<>();
+        iterator.forEachRemaining(intervals::add);
+        return intervals;
+    }
+
+    private static List<LongInterval> toLong(List<Interval> intervals) {
+        List<LongInterval> converted = new ArrayList<>(intervals.size());
+        for (Interval interval : intervals) {
+            converted.add(new LongInterval(interval.getStart(), interval.getEnd()));
+        }
+        return converted;
+    }
+
+    private static long width(List<Interval> intervals) {
+        long width = 0;
+        for (Interval interval : intervals) {
+            width += (long) interval.getEnd() - interval.getStart() + 1;
+        }
+        return width;
+    }
+
+
+    private interface Engine {
+
+        List<Interval> process(List<Interval> includes, List<Interval> excludes);
+    }
+
+    private static final class Candidate {
+
+        private final String name;
+        private final Engine engine;
+        private final boolean pointwise;
+        private final boolean quadratic;
+
+        Candidate(String name, Engine engine, boolean pointwise, boolean quadratic) {
+            this.name = name;
+            this.engine = engine;
+            this.pointwise = pointwise;
+            this.quadratic = quadratic;
+        }
+
+        Candidate(String name, IntervalHandler handler, boolean pointwise, boolean quadratic) {
+            this(name, handler::processIntervals, pointwise, quadratic);
+        }
+
+        /**
+         * @return false if the input is too large for the candidate to finish in time
+         */
+        boolean accepts(Case generated) {
+            if (pointwise && width(generated.includes) + width(generated.excludes) > MAX_POINTWISE_WIDTH) {
+                return false;
+            }
+            return !quadratic || (long) generated.includes.size() * generated.excludes.size() <= MAX_QUADRATIC_PAIRS;
+        }
+    }
+
+    private static final class Case {
+
+        private final List<Interval> includes;
+        private final List<Interval> excludes;
+
+        Case(List<Interval> includes, List<Interval> excludes) {
+            this.includes = Collections.unmodifiableList(includes);
+            this.excludes = Collections.unmodifiableList(excludes);
+        }
+
+        List<Interval> list(boolean includes) {
+            return includes ? this.includes : this.excludes;
+        }
+
+        Case with(boolean includes, List<Interval> intervals) {
+            return includes ? new Case(intervals, excludes) : new Case(this.includes, intervals);
+        }
+
+        /**
+         * Keeps the order of all bounds, but leaves one number between neighbouring bounds
+         */
+        Case compressed() {
+            TreeMap<Long, Long> bounds = new TreeMap<>();
+            for (boolean includes : new boolean[] {true, false}) {
+                for (Interval interval : list(includes)) {
+                    bounds.put((long) interval.getStart(), 0L);
+                    bounds.put(interval.getEnd() + 1L, 0L);
+                }
+            }
+            long next = bounds.isEmpty() ? 0 : bounds.firstKey();
+            for (Map.Entry<Long, Long> bound : bounds.entrySet()) {
+                bound.setValue(next++);
+            }
+            return new Case(compress(includes, bounds), compress(excludes, bounds));
+        }
+
+        private static List<Interval> compress(List<Interval> intervals, Map<Long, Long> bounds) {
+            List<Interval> compressed = new ArrayList<>(intervals.size());
+            for (Interval interval : intervals) {
+                compressed.add(new Interval(bounds.get((long) interval.getStart()).intValue(),
+                                            (int) (bounds.get(interval.getEnd() + 1L) - 1)));
+            }
+            return compressed;
+        }
+
+        Case shifted(int offset) {
+            return new Case(shift(includes, offset), shift(excludes, offset));
+        }
+
+        private static List<Interval> shift(List<Interval> intervals, int offset) {
+            List<Interval> shifted = new ArrayList<>(intervals.size());
+            for (Interval interval : intervals) {
+                shifted.add(new Interval(interval.getStart() + offset, interval.getEnd() + offset));
+            }
+            return shifted;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Case)) return false;
+
+            Case other = (Case) o;
+
+            return includes.equals(other.includes) && excludes.equals(other.excludes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * includes.hashCode() + excludes.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "includes " + includes + ", excludes " + excludes;
+        }
+    }
+
+    /**
+     * Shapes of random inputs
+     */
+    private enum Workload {
+        // a few intervals over a few numbers, bounds often coincide
+        SMALL(100) {
+            @Override
+            Case generate(Random random) {
+                return new Case(intervals(random, random.nextInt(8), -20, 20, 15),
+                                intervals(random, random.nextInt(6), -20, 20, 15));
+            }
+        },
+        // single numbers and short ranges, results are often single numbers
+        POINTS(100) {
+            @Override
+            Case generate(Random random) {
+                return new Case(intervals(random, 1 + random.nextInt(4), -10, 10, 2),
+                                intervals(random, random.nextInt(4), -10, 10, 2));
+            }
+        },
+        // thousands of wide intervals piled over a short span
+        HEAVY_OVERLAP(2) {
+            @Override
+            Case generate(Random random) {
+                int count = 1000 + random.nextInt(4000);
+                return new Case(intervals(random, count, 0, 20_000, 3000),
+                                intervals(random, count / 5, 0, 20_000, 300));
+            }
+        },
+        // chains of ranges like 15-15, 16-19, 20-24 given in random order
+        ADJACENT(2) {
+            @Override
+            Case generate(Random random) {
+                return new Case(chain(random, 2000, -1000), chain(random, 500, -1000));
+            }
+        },
+        // numbers on both sides of zero
+        NEGATIVE(2) {
+            @Override
+            Case generate(Random random) {
+                return new Case(intervals(random, 500, -50_000, 50_000, 200),
+                                intervals(random, 500, -50_000, 50_000, 100));
+            }
+        },
+        // ranges touching Integer.MIN_VALUE and Integer.MAX_VALUE
+        NEAR_BOUNDS(5) {
+            @Override
+            Case generate(Random random) {
+                List<Interval> includes = new ArrayList<>();
+                List<Interval> excludes = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    List<Interval> target = random.nextInt(3) == 0 ? excludes : includes;
+                    int width = random.nextInt(300);
+                    if (random.nextBoolean()) {
+                        int start = Integer.MIN_VALUE + random.nextInt(1000);
+                        target.add(new Interval(start, (int) Math.min(Integer.MAX_VALUE, (long) start + width)));
+                    } else {
+                        int end = Integer.MAX_VALUE - random.nextInt(1000);
+                        target.add(new Interval((int) Math.max(Integer.MIN_VALUE, (long) end - width), end));
+                    }
+                }
+                includes.add(new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE));
+                excludes.add(new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE));
+                return new Case(includes, excludes);
+            }
+        },
+        // the whole range of int cut by wide excludes
+        WIDE(5) {
+            @Override
+            Case generate(Random random) {
+                List<Interval> includes = intervals(random, 50, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+                includes.add(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE));
+                return new Case(includes, intervals(random, 100, Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 28));
+            }
+        },
+        // many thousands of intervals
+        LARGE(1) {
+            @Override
+            Case generate(Random random) {
+                return new Case(intervals(random, 20_000, -5_000_000, 5_000_000, 1000),
+                                intervals(random, 5000, -5_000_000, 5_000_000, 500));
+            }
+        };
+
+        private final int weight;
+
+        Workload(int weight) {
+            this.weight = weight;
+        }
+
+        abstract Case generate(Random random);
+
+        /**
+         * @return workloads repeated by their weights
+         */
+        static Workload[] schedule() {
+            List<Workload> schedule = new ArrayList<>();
+            for (int pass = 0; pass < SMALL.weight; pass++) {
+                for (Workload workload : values()) {
+                    if (pass < workload.weight) {
+                        schedule.add(workload);
+                    }
+                }
+            }
+            return schedule.toArray(new Workload[0]);
+        }
+
+        /**
+         * @return intervals with starts from {@code low} to {@code high} and widths up to {@code width}
+         */
+        static List<Interval> intervals(Random random, int count, int low, int high, int width) {
+            List<Interval> intervals = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long start = low + (long) (random.nextDouble() * ((long) high - low + 1));
+                long end = Math.min(Integer.MAX_VALUE, start + (long) (random.nextDouble() * width));
+                // some intervals are given with swapped bounds
+                intervals.add(random.nextInt(10) == 0 ? new Interval((int) end, (int) start)
+                                                      : new Interval((int) start, (int) end));
+            }
+            return intervals;
+        }
+
+        static List<Interval> chain(Random random, int count, int from) {
+            List<Interval> intervals = new ArrayList<>(count);
+            int start = from;
+            for (int i = 0; i < count; i++) {
+                int end = start + (random.nextInt(3) == 0 ? 0 : random.nextInt(5));
+                intervals.add(new Interval(start, end));
+                // mostly adjacent, sometimes with a gap of one number
+                start = end + 1 + (random.nextInt(8) == 0 ? 1 : 0);
+            }
+            Collections.shuffle(intervals, random);
+            return intervals;
+        }
+    }
+}
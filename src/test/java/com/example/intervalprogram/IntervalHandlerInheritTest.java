@@ -1,5 +1,6 @@
 package com.example.intervalprogram;
 
+import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -7,12 +8,15 @@ import org.junit.runners.Parameterized;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
 
 @RunWith(Parameterized.class)
 public class IntervalHandlerInheritTest {
 
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
     private IntervalHandler handler;
 
     private static final List<Interval> INCLUDES_MERGE = Arrays.asList(new Interval(10, 20), new Interval(5, 15),
@@ -26,6 +30,7 @@ public class IntervalHandlerInheritTest {
     private static final List<Interval> INCLUDES_LONG = Arrays.asList(new Interval(100000, 500000),
                                                                       new Interval(50000, 80000),
                                                                       new Interval(500, 8000));
+    private static final List<Interval> INCLUDES_BOUNDS = Arrays.asList(new Interval(10, 19), new Interval(30, 39));
 
     private static final List<Interval> EXCLUDES_NORMAL = Arrays.asList(new Interval(15, 27));
     private static final List<Interval> EXCLUDES_OVERLAP = Arrays.asList(new Interval(15, 27), new Interval(22, 30));
@@ -34,6 +39,8 @@ public class IntervalHandlerInheritTest {
     private static final List<Interval> EXCLUDES_NEGATIVE = Arrays.asList(new Interval(-8, -4), new Interval(-1, 10));
     private static final List<Interval> EXCLUDES_LONG = Arrays.asList(new Interval(6000, 70000),
                                                                       new Interval(200000, 300000));
+    private static final List<Interval> EXCLUDES_BOUNDS = Arrays.asList(new Interval(10, 15), new Interval(35, 39));
+    private static final List<Interval> EXCLUDES_SINGLE = Arrays.asList(new Interval(10, 18), new Interval(25, 35));
 
     private static final List<Interval> RESULT_MERGE = Arrays.asList(new Interval(5, 20), new Interval(24, 29));
     private static final List<Interval> RESULT_NORMAL = Arrays.asList(new Interval(10, 14), new Interval(28, 35));
@@ -50,6 +57,8 @@ public class IntervalHandlerInheritTest {
                                                                     new Interval(70001, 80000),
                                                                     new Interval(100000, 199999),
                                                                     new Interval(300001, 500000));
+    private static final List<Interval> RESULT_BOUNDS = Arrays.asList(new Interval(16, 19), new Interval(30, 34));
+    private static final List<Interval> RESULT_SINGLE = Arrays.asList(new Interval(19, 19));
 
 
     public IntervalHandlerInheritTest(IntervalHandler handler) {
@@ -60,10 +69,21 @@ public class IntervalHandlerInheritTest {
     public static Object[] data() {
         return new Object[] {
                 new IntervalHandlerByDirectSearch(),
-                new IntervalHandlerBySet()
+                new IntervalHandlerBySet(),
+                new IntervalHandlerBySweep(),
+                new IntervalHandlerByBitmap(),
+                // every interval is a partition of its own
+                new IntervalHandlerByForkJoin(POOL, 1),
+                new IntervalHandlerWithCache(new IntervalHandlerBySweep(), 1000),
+                new IntervalHandlerAdaptive()
         };
     }
 
+    @AfterClass
+    public static void tearDown() {
+        POOL.shutdown();
+    }
+
 
     @Test
     public void testProcessIntervalsMergeIntervals() {
@@ -119,4 +139,21 @@ public class IntervalHandlerInheritTest {
     public void testProcessIntervalsLong() {
         assertEquals(RESULT_LONG, handler.processIntervals(INCLUDES_LONG, EXCLUDES_LONG));
     }
+
+    @Test
+    public void testProcessIntervalsEqualBounds() {
+        assertEquals(RESULT_BOUNDS, handler.processIntervals(INCLUDES_BOUNDS, EXCLUDES_BOUNDS));
+    }
+
+    @Test
+    public void testProcessIntervalsSingleInteger() {
+        assertEquals(RESULT_SINGLE, handler.processIntervals(INCLUDES_NORMAL, EXCLUDES_SINGLE));
+    }
+
+    @Test
+    public void testProcessIntervalsPacked() {
+        IntervalArray result = handler.processIntervals(IntervalArray.fromList(INCLUDES_NEGATIVE),
+                                                        IntervalArray.fromList(EXCLUDES_NEGATIVE));
+        assertEquals(RESULT_NEGATIVE, result.toList());
+    }
 }
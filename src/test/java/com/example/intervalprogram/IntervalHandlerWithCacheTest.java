@@ -0,0 +1,87 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class IntervalHandlerWithCacheTest {
+
+    private static final List<Interval> INCLUDES = Arrays.asList(new Interval(10, 20), new Interval(5, 15),
+                                                                 new Interval(24, 29));
+    private static final List<Interval> INCLUDES_REORDERED = Arrays.asList(new Interval(24, 29),
+                                                                           new Interval(20, 10),
+                                                                           new Interval(5, 15));
+    private static final List<Interval> EXCLUDES = Arrays.asList(new Interval(15, 27));
+    private static final List<Interval> RESULT = Arrays.asList(new Interval(5, 14), new Interval(28, 29));
+
+
+    @Test
+    public void testHitOnNormalizedInputs() {
+        IntervalHandlerWithCache handler = new IntervalHandlerWithCache(new IntervalHandlerBySet(), 100);
+        List<Interval> first = handler.processIntervals(INCLUDES, EXCLUDES);
+        List<Interval> second = handler.processIntervals(INCLUDES_REORDERED, EXCLUDES);
+
+        assertEquals(RESULT, first);
+        assertSame(first, second);
+        assertEquals(1, handler.getHitCount());
+        assertEquals(1, handler.getMissCount());
+        // 2 includes and 1 exclude after merging, 2 intervals in the result
+        assertEquals(5, handler.getCachedIntervals());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        IntervalHandlerWithCache handler = new IntervalHandlerWithCache(new IntervalHandlerBySweep(), 6);
+        handler.processIntervals(INCLUDES, EXCLUDES);
+        handler.processIntervals(INCLUDES, Collections.emptyList());
+        assertEquals(1, handler.getEvictionCount());
+        assertEquals(1, handler.size());
+
+        handler.processIntervals(INCLUDES, Collections.emptyList());
+        assertEquals(1, handler.getHitCount());
+    }
+
+    @Test
+    public void testTooLargeResultIsNotCached() {
+        IntervalHandlerWithCache handler = new IntervalHandlerWithCache(new IntervalHandlerBySweep(), 2);
+        assertEquals(RESULT, handler.processIntervals(INCLUDES, EXCLUDES));
+        assertEquals(0, handler.size());
+        assertEquals(0, handler.getEvictionCount());
+    }
+
+    @Test
+    public void testCallerListIsNotCached() {
+        // the delegate returns includes as they are
+        IntervalHandler identity = new IntervalHandler() {
+            @Override
+            public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+                return includes;
+            }
+        };
+        IntervalHandlerWithCache handler = new IntervalHandlerWithCache(identity, 100);
+        List<Interval> includes = new ArrayList<>(RESULT);
+        handler.processIntervals(includes, Collections.emptyList());
+        includes.clear();
+
+        assertEquals(RESULT, handler.processIntervals(RESULT, Collections.emptyList()));
+        assertEquals(1, handler.getHitCount());
+    }
+
+    @Test
+    public void testMissesReportPhases() {
+        IntervalHandlerWithCache handler = new IntervalHandlerWithCache(new IntervalHandlerBySweep(), 100);
+        IntervalMetrics metrics = new IntervalMetrics();
+        handler.setMetricsListener(metrics);
+        handler.processIntervals(INCLUDES, EXCLUDES);
+        handler.processIntervals(INCLUDES, EXCLUDES);
+
+        assertSame(metrics, handler.getMetricsListener());
+        assertEquals(1, metrics.getPhase(IntervalMetricsListener.Phase.COMPLEMENT).getCount());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalIndexTest {
+
+    private static final List<Interval> INTERVALS = Arrays.asList(new Interval(-10, -9), new Interval(-3, -2),
+                                                                  new Interval(11, 35));
+    private static final IntervalIndex INDEX = IntervalIndex.of(INTERVALS);
+
+
+    @Test
+    public void testContains() {
+        assertTrue(INDEX.contains(-10));
+        assertTrue(INDEX.contains(35));
+        assertFalse(INDEX.contains(-11));
+        assertFalse(INDEX.contains(0));
+        assertFalse(INDEX.contains(Integer.MAX_VALUE));
+        assertFalse(IntervalIndex.of(new ArrayList<>()).contains(0));
+    }
+
+    @Test
+    public void testBatch() {
+        boolean[] results = new boolean[4];
+        INDEX.contains(new int[] {-9, -8, 11, 36}, results);
+        assertArrayEquals(new boolean[] {true, false, true, false}, results);
+        assertTrue(INDEX.containsAll(new int[] {-10, -2, 20}));
+        assertFalse(INDEX.containsAll(new int[] {-10, -1}));
+    }
+
+    @Test
+    public void testFloorAndCeiling() {
+        assertEquals(new Interval(-3, -2), INDEX.floor(0));
+        assertEquals(new Interval(11, 35), INDEX.ceiling(0));
+        assertEquals(new Interval(11, 35), INDEX.floor(20));
+        assertEquals(new Interval(11, 35), INDEX.ceiling(20));
+        assertNull(INDEX.floor(-11));
+        assertNull(INDEX.ceiling(36));
+    }
+
+    @Test
+    public void testSameAsLinearScan() {
+        Random random = new Random(9);
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(100_000);
+            intervals.add(new Interval(start, start + random.nextInt(50)));
+        }
+        IntervalIndex index = IntervalIndex.of(intervals);
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(100_100);
+            boolean expected = intervals.stream().anyMatch(in -> in.getStart() <= value && value <= in.getEnd());
+            assertEquals(expected, index.contains(value));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.intervalprogram;
+
+import com.example.intervalprogram.IntervalMetricsListener.Phase;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalMetricsTest {
+
+    private static final List<Interval> INCLUDES = Arrays.asList(new Interval(10, 100), new Interval(50, 5000),
+                                                                 new Interval(200, 300));
+    private static final List<Interval> EXCLUDES = Arrays.asList(new Interval(95, 205), new Interval(410, 420));
+
+
+    @Test
+    public void testEveryHandlerReportsPhases() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        List<IntervalHandler> handlers = Arrays.asList(new IntervalHandlerByDirectSearch(), new IntervalHandlerBySet(),
+                                                       new IntervalHandlerBySweep(), new IntervalHandlerByBitmap(),
+                                                       new IntervalHandlerByForkJoin(pool, 1),
+                                                       new IntervalHandlerAdaptive());
+        try {
+            for (IntervalHandler handler : handlers) {
+                IntervalMetrics metrics = new IntervalMetrics();
+                handler.setMetricsListener(metrics);
+                handler.formatOutput(handler.processIntervals(INCLUDES,
+                                                              handler.parseIntervals("10-100, 50-5000, 200-300")));
+
+                String name = handler.getClass().getSimpleName();
+                for (Phase phase : Phase.values()) {
+                    assertTrue(name + " " + phase, metrics.getPhase(phase).getCount() > 0);
+                }
+                assertEquals(name, 3, metrics.getPhase(Phase.PARSE).getOutputCount());
+                assertTrue(name, metrics.getPhase(Phase.COMPLEMENT).getInputCount() > 0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMergeCounts() {
+        IntervalHandler handler = new IntervalHandlerBySweep();
+        List<Phase> phases = new ArrayList<>();
+        List<Integer> absorbed = new ArrayList<>();
+        handler.setMetricsListener((phase, nanos, input, output, bytes) -> {
+            phases.add(phase);
+            if (phase == Phase.MERGE) {
+                absorbed.add(input - output);
+            }
+        });
+        handler.processIntervals(INCLUDES, EXCLUDES);
+        assertEquals(Arrays.asList(Phase.SORT, Phase.MERGE, Phase.COMPLEMENT), phases);
+        // 50-5000 absorbs both other includes
+        assertEquals(Arrays.asList(2), absorbed);
+
+        handler.setMetricsListener(null);
+        assertNull(handler.getMetricsListener());
+        handler.processIntervals(INCLUDES, EXCLUDES);
+        assertEquals(3, phases.size());
+    }
+
+    @Test
+    public void testMXBeans() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        IntervalMetrics metrics = new IntervalMetrics();
+        metrics.register(server, "test");
+        IntervalHandler handler = new IntervalHandlerBySweep();
+        handler.setMetricsListener(metrics);
+        handler.processIntervals(INCLUDES, EXCLUDES);
+
+        Set<Phase> registered = EnumSet.noneOf(Phase.class);
+        for (Phase phase : Phase.values()) {
+            if (server.isRegistered(IntervalMetrics.objectName("test", phase))) {
+                registered.add(phase);
+            }
+        }
+        assertEquals(EnumSet.allOf(Phase.class), registered);
+        assertEquals(1L, server.getAttribute(IntervalMetrics.objectName("test", Phase.COMPLEMENT), "Count"));
+        // includes are merged into one interval before the complement
+        assertEquals(3L, server.getAttribute(IntervalMetrics.objectName("test", Phase.COMPLEMENT), "InputCount"));
+
+        server.invoke(IntervalMetrics.objectName("test", Phase.COMPLEMENT), "reset", new Object[0], new String[0]);
+        assertEquals(0L, metrics.getPhase(Phase.COMPLEMENT).getCount());
+        metrics.unregister(server, "test");
+        assertTrue(server.queryNames(IntervalMetrics.objectName("test", Phase.SORT), null).isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntervalParserTest {
+
+    private static final String[] TEXTS = {
+            "10-19, 31-100",
+            "-10--5, -7-35",
+            "10-19, 7.5-35, 31-100",
+            "19-10,31-100,\t\n 5-6",
+            " 10-19, 31-100 ",
+            "10-19 , 31-100",
+            ",,10-19,, -,--,1--,-1-,--1-2",
+            "10-19,",
+            "1-2-3, 4-5",
+            "007-0008, -0--0",
+            "-2147483648-2147483647",
+            "99999999999999999999-x, 1-2",
+            "１-2, 3-4"
+    };
+
+    private static final List<Interval> RESULT_NORMAL = Arrays.asList(new Interval(10, 19), new Interval(31, 100));
+
+
+    @Test
+    public void testParseSameAsRegularExpressions() {
+        for (String text : TEXTS) {
+            assertEquals(text, parseByRegularExpressions(text), IntervalParser.parse(text).toList());
+        }
+    }
+
+    @Test
+    public void testParseReader() throws IOException {
+        assertEquals(RESULT_NORMAL, IntervalParser.parse(new StringReader(TEXTS[0])).toList());
+    }
+
+    @Test
+    public void testParseByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(TEXTS[2].getBytes(StandardCharsets.US_ASCII));
+        assertEquals(RESULT_NORMAL, IntervalParser.parse(buffer).toList());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testParseInParts() {
+        IntervalParser parser = new IntervalParser(new IntervalArray());
+        parser.feed("10-1");
+        parser.feed("9, ");
+        parser.feed("31-100");
+        assertEquals(RESULT_NORMAL, parser.finish().toList());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseOutOfIntRange() {
+        IntervalParser.parse("1-2, 2147483648-5");
+    }
+
+    /**
+     * The former implementation of {@link IntervalHandler#parseIntervals(String)}
+     */
+    private static List<Interval> parseByRegularExpressions(String intervals) {
+        List<Interval> result = new ArrayList<>();
+        for (String str : intervals.split(",\\s*")) {
+            if (str.matches("^-?\\d+--?\\d+$")) {
+                String[] interval = str.split("(?<=[^-])-");
+                result.add(new Interval(Integer.parseInt(interval[0]), Integer.parseInt(interval[1])));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntervalServiceTest {
+
+    @Test
+    public void testSameAsHandler() throws Exception {
+        IntervalHandler handler = new IntervalHandlerBySweep();
+        try (IntervalService service = new IntervalService(handler)) {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(service.submit(i + "-" + (i + 100) + ", 1000-2000", (i + 10) + "-" + (i + 20)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                String expected = handler.formatOutput(handler.processIntervals(
+                        handler.parseIntervals(i + "-" + (i + 100) + ", 1000-2000"),
+                        handler.parseIntervals((i + 10) + "-" + (i + 20))));
+                assertEquals(expected, futures.get(i).get());
+            }
+            assertEquals("", service.submit("", "1-2").get());
+            assertEquals(501, service.getCompletedCount());
+            assertEquals(0, service.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testBackpressureAndCoalescing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IntervalHandler blocking = new IntervalHandlerBySweep() {
+            @Override
+            public List<Interval> processIntervals(List<Interval> includes, List<Interval> excludes) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.processIntervals(includes, excludes);
+            }
+        };
+        try (IntervalService service = new IntervalService(blocking, 2, Executors.newFixedThreadPool(2))) {
+            CompletableFuture<String> first = service.submit("1-10", "5-6");
+            CompletableFuture<String> same = service.submit("1-10", "5-6");
+            CompletableFuture<String> second = service.submit("1-10", "");
+            CompletableFuture<String> over = service.submit("20-30", "");
+
+            assertEquals(1, service.getCoalescedCount());
+            assertEquals(1, service.getRejectedCount());
+            assertEquals(2, service.getPendingCount());
+            try {
+                over.get();
+                fail("The job over the bound is not rejected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+            // cancelling one caller does not affect the other caller of the same job
+            same.cancel(true);
+            release.countDown();
+            assertEquals("1-4, 7-10", first.get());
+            assertEquals("1-10", second.get());
+            assertEquals(2, service.getCompletedCount());
+        }
+    }
+
+    @Test
+    public void testFailureAndClose() throws Exception {
+        IntervalService service = new IntervalService(new IntervalHandlerBySweep(), 10);
+        try {
+            service.submit("1-2147483648", "").get();
+            fail("Out of range bound is not reported");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        }
+        service.close();
+        try {
+            service.submit("1-2", "").get();
+            fail("A closed service accepts jobs");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertEquals(0, service.getPendingCount());
+    }
+}
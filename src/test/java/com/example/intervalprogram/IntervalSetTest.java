@@ -0,0 +1,61 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalSetTest {
+
+    private static final List<Interval> INCLUDES = Arrays.asList(new Interval(10, 20), new Interval(5, 15),
+                                                                 new Interval(24, 29), new Interval(30, 30));
+    private static final List<Interval> RESULT_MERGE = Arrays.asList(new Interval(5, 20), new Interval(24, 29),
+                                                                     new Interval(30, 30));
+    private static final List<Interval> RESULT_SUBTRACT = Arrays.asList(new Interval(5, 9), new Interval(16, 20),
+                                                                        new Interval(30, 30));
+
+
+    @Test
+    public void testAddMergesOverlapped() {
+        assertEquals(RESULT_MERGE, new IntervalSet(INCLUDES).toList());
+    }
+
+    @Test
+    public void testSubtractSplits() {
+        IntervalSet set = new IntervalSet(INCLUDES);
+        set.subtract(new Interval(10, 15));
+        set.subtract(new Interval(21, 29));
+        assertEquals(RESULT_SUBTRACT, set.toList());
+        assertTrue(set.contains(9));
+        assertFalse(set.contains(10));
+        assertTrue(set.contains(30));
+    }
+
+    @Test
+    public void testSubtractAtIntegerBounds() {
+        IntervalSet set = new IntervalSet(Arrays.asList(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        set.subtract(new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE));
+        set.subtract(new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(new Interval(Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1)), set.toList());
+    }
+
+    @Test
+    public void testSameAsBatchProcessing() {
+        Random random = new Random(7);
+        IntervalHandler handler = new IntervalHandlerBySweep();
+        for (int round = 0; round < 50; round++) {
+            List<Interval> includes = TestIntervals.random(random, random.nextInt(30), -250, 250, 40);
+            List<Interval> excludes = TestIntervals.random(random, random.nextInt(30), -250, 250, 40);
+            IntervalSet set = new IntervalSet(includes);
+            for (Interval exclude : excludes) {
+                set.subtract(exclude);
+            }
+            assertEquals(handler.processIntervals(includes, excludes), set.toList());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntervalStreamsTest {
+
+    private static final List<Interval> INCLUDES = Arrays.asList(new Interval(5, 15), new Interval(10, 20),
+                                                                 new Interval(24, 29), new Interval(40, 50));
+    private static final List<Interval> EXCLUDES = Arrays.asList(new Interval(5, 5), new Interval(18, 26),
+                                                                 new Interval(45, 45));
+    private static final List<Interval> RESULT = Arrays.asList(new Interval(6, 17), new Interval(27, 29),
+                                                               new Interval(40, 44), new Interval(46, 50));
+    private static final List<Interval> UNSORTED = Arrays.asList(new Interval(10, 20), new Interval(5, 15));
+
+
+    @Test
+    public void testComplementStreams() {
+        try (Stream<Interval> result = IntervalStreams.complement(INCLUDES.stream(), EXCLUDES.stream())) {
+            assertEquals(RESULT, result.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testSameAsSweep() {
+        Random random = new Random(3);
+        IntervalHandler handler = new IntervalHandlerBySweep();
+        for (int round = 0; round < 50; round++) {
+            List<Interval> includes = randomSortedIntervals(random);
+            List<Interval> excludes = randomSortedIntervals(random);
+            List<Interval> result = new ArrayList<>();
+            IntervalStreams.complement(includes.iterator(), excludes.iterator()).forEachRemaining(result::add);
+            assertEquals(handler.processIntervals(includes, excludes), result);
+        }
+    }
+
+    @Test
+    public void testInfiniteSourceIsLazy() {
+        // includes 0-9, 20-29, 40-49, ... never end
+        Iterator<Interval> includes = Stream.iterate(new Interval(0, 9), i -> new Interval(i.getStart() + 20,
+                                                                                           i.getEnd() + 20))
+                .iterator();
+        Iterator<Interval> result = IntervalStreams.complement(includes, EXCLUDES.iterator());
+        assertEquals(new Interval(0, 4), result.next());
+        assertEquals(new Interval(6, 9), result.next());
+        assertEquals(new Interval(27, 29), result.next());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnsortedFailsFast() {
+        IntervalStreams.merge(UNSORTED.iterator()).forEachRemaining(i -> { });
+    }
+
+    private static List<Interval> randomSortedIntervals(Random random) {
+        List<Interval> intervals = TestIntervals.random(random, random.nextInt(40), -300, 300, 30);
+        intervals.sort(Comparator.comparingInt(Interval::getStart));
+        return intervals;
+    }
+}
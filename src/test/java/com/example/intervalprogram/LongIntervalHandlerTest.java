@@ -0,0 +1,93 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongIntervalHandlerTest {
+
+    private static final long IPV4_MAX = 0xFFFFFFFFL;
+
+    private static final List<LongInterval> INCLUDES_IPV4 = Arrays.asList(new LongInterval(0, IPV4_MAX));
+    private static final List<LongInterval> EXCLUDES_IPV4 = Arrays.asList(new LongInterval(0x0A000000L, 0x0AFFFFFFL),
+                                                                          new LongInterval(0xC0A80000L, 0xC0A8FFFFL));
+    private static final List<LongInterval> RESULT_IPV4 = Arrays.asList(new LongInterval(0, 0x09FFFFFFL),
+                                                                        new LongInterval(0x0B000000L, 0xC0A7FFFFL),
+                                                                        new LongInterval(0xC0A90000L, IPV4_MAX));
+
+    private static final List<LongInterval> INCLUDES_BOUNDS = Arrays.asList(
+            new LongInterval(Long.MIN_VALUE, Long.MAX_VALUE));
+    private static final List<LongInterval> EXCLUDES_BOUNDS = Arrays.asList(
+            new LongInterval(Long.MIN_VALUE, Long.MIN_VALUE), new LongInterval(0, Long.MAX_VALUE));
+    private static final List<LongInterval> RESULT_BOUNDS = Arrays.asList(
+            new LongInterval(Long.MIN_VALUE + 1, -1));
+
+    private final LongIntervalHandler handler = new LongIntervalHandler();
+
+
+    @Test
+    public void testUnsignedIpv4() {
+        assertEquals(RESULT_IPV4, handler.processIntervals(INCLUDES_IPV4, EXCLUDES_IPV4));
+    }
+
+    @Test
+    public void testLongBounds() {
+        assertEquals(RESULT_BOUNDS, handler.processIntervals(INCLUDES_BOUNDS, EXCLUDES_BOUNDS));
+        assertEquals(EXCLUDES_BOUNDS.subList(1, 2),
+                     handler.processIntervals(EXCLUDES_BOUNDS.subList(1, 2), EXCLUDES_BOUNDS.subList(0, 1)));
+    }
+
+    @Test
+    public void testIntValuesStayNarrow() {
+        LongIntervalArray array = new LongIntervalArray();
+        array.add(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertFalse(array.isWide());
+        array.add(Integer.MAX_VALUE + 1L, Integer.MAX_VALUE + 1L);
+        assertTrue(array.isWide());
+        assertEquals(Integer.MIN_VALUE, array.getStart(0));
+    }
+
+    @Test
+    public void testManyWideIntervals() {
+        LongIntervalArray array = new LongIntervalArray();
+        for (int i = 0; i < 1000; i++) {
+            array.add((1L << 40) + 10 * i, (1L << 40) + 10 * i + 5);
+        }
+        assertTrue(array.isWide());
+        assertEquals(1000, array.size());
+        assertEquals((1L << 40) + 9990, array.getStart(999));
+        assertEquals((1L << 40) + 9995, array.getEnd(999));
+    }
+
+    @Test
+    public void testSameAsIntHandler() {
+        Random random = new Random(13);
+        IntervalHandler intHandler = new IntervalHandlerBySweep();
+        for (int round = 0; round < 50; round++) {
+            List<Interval> includes = TestIntervals.random(random, random.nextInt(30), -250, 250, 40);
+            List<Interval> excludes = TestIntervals.random(random, random.nextInt(30), -250, 250, 40);
+            // shifting beyond int range makes the containers wide
+            long shift = round % 2 == 0 ? 0 : 1L << 40;
+            List<LongInterval> expected = new ArrayList<>();
+            for (Interval interval : intHandler.processIntervals(includes, excludes)) {
+                expected.add(new LongInterval(interval.getStart() + shift, interval.getEnd() + shift));
+            }
+            assertEquals(expected, handler.processIntervals(shift(includes, shift), shift(excludes, shift)));
+        }
+    }
+
+    private static List<LongInterval> shift(List<Interval> intervals, long shift) {
+        List<LongInterval> shifted = new ArrayList<>();
+        for (Interval interval : intervals) {
+            shifted.add(new LongInterval(interval.getStart() + shift, interval.getEnd() + shift));
+        }
+        return shifted;
+    }
+}
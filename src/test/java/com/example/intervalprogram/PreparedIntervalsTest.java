@@ -0,0 +1,65 @@
+package com.example.intervalprogram;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PreparedIntervalsTest {
+
+    private final IntervalHandler sequential = new IntervalHandlerBySweep();
+
+
+    @Test
+    public void testSameAsHandler() {
+        Random random = new Random(17);
+        for (int round = 0; round < 100; round++) {
+            List<Interval> includes = TestIntervals.random(random, random.nextInt(300), -10_000, 10_000, 50);
+            List<Interval> excludes = TestIntervals.random(random, random.nextInt(round < 50 ? 5 : 300), -10_000,
+                                                         10_000, 20);
+            PreparedIntervals prepared = PreparedIntervals.of(includes);
+
+            assertEquals(sequential.processIntervals(includes, excludes), prepared.subtract(excludes));
+        }
+    }
+
+    @Test
+    public void testBounds() {
+        PreparedIntervals prepared = PreparedIntervals.of(Arrays.asList(new Interval(Integer.MIN_VALUE, -10),
+                                                                        new Interval(10, Integer.MAX_VALUE)));
+        assertEquals(Arrays.asList(new Interval(Integer.MIN_VALUE + 1, -11), new Interval(11, Integer.MAX_VALUE - 1)),
+                     prepared.subtract(Arrays.asList(new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE),
+                                                     new Interval(-10, 10),
+                                                     new Interval(Integer.MAX_VALUE, Integer.MAX_VALUE))));
+        assertEquals(Collections.emptyList(),
+                     prepared.subtract(Arrays.asList(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE))));
+        assertEquals(prepared.toIntervalArray().toList(), prepared.subtract(Collections.emptyList()));
+    }
+
+    @Test
+    public void testSubtractAllKeepsOrder() {
+        Random random = new Random(18);
+        List<Interval> includes = TestIntervals.random(random, 5000, -10_000, 10_000, 100);
+        List<List<Interval>> excludeSets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            excludeSets.add(TestIntervals.random(random, random.nextInt(50), -10_000, 10_000, 200));
+        }
+        PreparedIntervals prepared = PreparedIntervals.of(includes);
+
+        for (boolean parallel : new boolean[] {false, true}) {
+            PreparedIntervals.BatchResult batch = prepared.subtractAll(excludeSets, parallel);
+            assertEquals(excludeSets.size(), batch.size());
+            for (int i = 0; i < excludeSets.size(); i++) {
+                assertEquals(sequential.processIntervals(includes, excludeSets.get(i)), batch.getResult(i));
+                assertTrue(batch.getNanos(i) >= 0);
+            }
+            assertTrue(batch.getTotalNanos() > 0);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.intervalprogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random intervals shared by tests
+ */
+class TestIntervals {
+
+    private TestIntervals() {
+    }
+
+    /**
+     * @param random source of intervals, the same seed gives the same intervals
+     * @param count number of intervals
+     * @param low least start of intervals
+     * @param high start of intervals is less than this, {@code high - low} must fit int
+     * @param width width of intervals is from 1 to this
+     * @return intervals in random order, possibly overlapping
+     */
+    static List<Interval> random(Random random, int count, int low, int high, int width) {
+        List<Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = low + random.nextInt(high - low);
+            intervals.add(new Interval(start, start + random.nextInt(width)));
+        }
+        return intervals;
+    }
+
+    /**
+     * Gives the same intervals as {@link #random} without boxing them
+     */
+    static IntervalArray randomArray(Random random, int count, int low, int high, int width) {
+        IntervalArray intervals = new IntervalArray(count);
+        for (int i = 0; i < count; i++) {
+            int start = low + random.nextInt(high - low);
+            intervals.add(start, start + random.nextInt(width));
+        }
+        return intervals;
+    }
+}